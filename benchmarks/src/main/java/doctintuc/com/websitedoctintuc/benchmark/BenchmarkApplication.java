@@ -0,0 +1,44 @@
+package doctintuc.com.websitedoctintuc.benchmark;
+
+import doctintuc.com.websitedoctintuc.WebsiteDocTinTucApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the real application against an in-memory H2 database in MySQL mode, so benchmarks
+ * that go through repositories run offline without a MySQL server.
+ * <p>
+ * With {@code -Dbenchmark.datasource.url=jdbc:mysql://...} (and {@code benchmark.datasource.username},
+ * {@code benchmark.datasource.password}) it runs against that MySQL database instead, for suites where
+ * round trips matter. The schema is dropped on exit, use a throwaway database.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        String mysqlUrl = System.getProperty("benchmark.datasource.url");
+        //Command line arguments take precedence over application.properties
+        if (mysqlUrl != null) {
+            return new SpringApplicationBuilder(WebsiteDocTinTucApplication.class).run(
+                    "--server.port=0",
+                    "--spring.datasource.url=" + mysqlUrl,
+                    "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "root"),
+                    "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""),
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.properties.hibernate.show-sql=false",
+                    "--logging.level.root=WARN");
+        }
+        return new SpringApplicationBuilder(WebsiteDocTinTucApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.show-sql=false",
+                "--logging.level.root=WARN");
+    }
+}
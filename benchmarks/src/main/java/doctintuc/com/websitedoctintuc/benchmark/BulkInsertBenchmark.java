@@ -0,0 +1,119 @@
+package doctintuc.com.websitedoctintuc.benchmark;
+
+import doctintuc.com.websitedoctintuc.domain.entity.base.AbstractBase;
+import doctintuc.com.websitedoctintuc.domain.entity.base.AbstractPooledBase;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Inserting a chunk of news-like rows in one transaction, with IDENTITY ids (one statement per row)
+ * and with pooled ids (JDBC batches of {@code hibernate.jdbc.batch_size}). Both entities only live in
+ * this module and map the same columns, so the id strategy is the only difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({"identity", "pooled"})
+    private String ids;
+
+    @Param({"500"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private IntFunction<Object> newRow;
+
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        if ("identity".equals(ids)) {
+            newRow = i -> new IdentityNews("Tiêu đề bài viết số " + i, "<p>Nội dung bài viết số " + i + "</p>");
+            table = "bench_identity_news";
+        } else {
+            newRow = i -> new PooledNews("Tiêu đề bài viết số " + i, "<p>Nội dung bài viết số " + i + "</p>");
+            table = "bench_pooled_news";
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.createNativeQuery("DELETE FROM " + table).executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertChunk() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(newRow.apply(i));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    @Entity
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @Table(name = "bench_identity_news")
+    public static class IdentityNews extends AbstractBase {
+
+        @Column(name = "title")
+        private String title;
+
+        @Column(name = "content", length = 100000)
+        private String content;
+
+        public IdentityNews(String title, String content) {
+            this.title = title;
+            this.content = content;
+        }
+    }
+
+    @Entity
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @Table(name = "bench_pooled_news")
+    public static class PooledNews extends AbstractPooledBase {
+
+        @Column(name = "title")
+        private String title;
+
+        @Column(name = "content", length = 100000)
+        private String content;
+
+        public PooledNews(String title, String content) {
+            this.title = title;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package doctintuc.com.websitedoctintuc.benchmark;
+
+import doctintuc.com.websitedoctintuc.application.repository.CategoryRepository;
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.application.service.INewsService;
+import doctintuc.com.websitedoctintuc.domain.dto.CustomNewDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsFilter;
+import doctintuc.com.websitedoctintuc.domain.entity.Category;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The category page, from the service down to the database (H2).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterNewsByCategoryBenchmark {
+
+    @Param({"2000"})
+    private int newsCount;
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private INewsService newsService;
+
+    private Integer categoryId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        newsService = context.getBean(INewsService.class);
+        NewsRepository newsRepository = context.getBean(NewsRepository.class);
+        Category category = new Category();
+        category.setCategoryName("Thể thao");
+        category.setDescription("Tin thể thao");
+        category = context.getBean(CategoryRepository.class).save(category);
+        categoryId = category.getId();
+        List<News> news = new ArrayList<>(newsCount);
+        for (int i = 0; i < newsCount; i++) {
+            News item = new News("Tiêu đề bài viết số " + i, "<p>Nội dung bài viết số " + i + "</p>", "Tác giả " + (i % 20),
+                    "Mô tả ngắn của bài viết", "news-" + i + ".jpg");
+            item.setCategory(category);
+            news.add(item);
+        }
+        newsRepository.saveAll(news);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomNewDTO filterFirstPage() {
+        return newsService.filterNewsByCategory(0, pageSize, new NewsFilter(categoryId, "Tác giả 1", null, null, null, "desc"));
+    }
+
+    @Benchmark
+    public CustomNewDTO filterDeepPage() {
+        return newsService.filterNewsByCategory(newsCount / pageSize / 2, pageSize, new NewsFilter(categoryId, null, null, null, null, "desc"));
+    }
+}
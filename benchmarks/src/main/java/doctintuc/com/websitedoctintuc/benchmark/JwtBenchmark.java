@@ -0,0 +1,53 @@
+package doctintuc.com.websitedoctintuc.benchmark;
+
+import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue at login and token check on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+
+    //A zero sized cache stores nothing, so every check parses and verifies the HMAC
+    private JwtUtils uncachedJwtUtils;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(10000, 600000, new SimpleMeterRegistry());
+        uncachedJwtUtils = new JwtUtils(0, 0, new SimpleMeterRegistry());
+        token = jwtUtils.generateTokenByUsername("admin");
+    }
+
+    @Benchmark
+    public String generateTokenByUsername() {
+        return jwtUtils.generateTokenByUsername("admin");
+    }
+
+    @Benchmark
+    public boolean validationToken() {
+        return jwtUtils.validationToken(token);
+    }
+
+    @Benchmark
+    public boolean validationTokenUncached() {
+        return uncachedJwtUtils.validationToken(token);
+    }
+
+    @Benchmark
+    public String getUserByToken() {
+        return jwtUtils.getUserByToken(token);
+    }
+}
@@ -0,0 +1,102 @@
+package doctintuc.com.websitedoctintuc.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed loop load test against a running server: every client sends its next request as soon as the
+ * previous one completed. Used to compare the platform thread pool with the virtual thread mode, e.g.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar doctintuc.com.websitedoctintuc.benchmark.LoadTest \
+ *     http://localhost:8080/api/v1/no-auth/get-news/1 1000,5000 30
+ * </pre>
+ * Arguments are the url, a comma separated list of client counts and the duration of each run in seconds.
+ */
+public class LoadTest {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTest <url> [clients=1000,5000] [seconds=30]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int[] clients = Arrays.stream((args.length > 1 ? args[1] : "1000,5000").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        System.out.printf("%-8s %12s %10s %10s %10s %10s%n", "clients", "requests/s", "errors", "p50 ms", "p99 ms", "max ms");
+        for (int count : clients) {
+            run(client, uri, count, WARMUP);
+            Result result = run(client, uri, count, duration);
+            System.out.printf("%-8d %12.1f %10d %10.1f %10.1f %10.1f%n", count,
+                    result.completed * 1000.0 / duration.toMillis(), result.errors,
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(1));
+        }
+    }
+
+    private static Result run(HttpClient client, URI uri, int clients, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            send(client, request, deadline, latencies, errors, done);
+        }
+        done.await();
+        return new Result(latencies, errors.get());
+    }
+
+    private static void send(HttpClient client, HttpRequest request, long deadline,
+                             ConcurrentLinkedQueue<Long> latencies, AtomicLong errors, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null || response.statusCode() >= 500) {
+                        errors.incrementAndGet();
+                    } else {
+                        latencies.add(System.nanoTime() - start);
+                    }
+                    send(client, request, deadline, latencies, errors, done);
+                });
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private final long completed;
+        private final long errors;
+
+        private Result(ConcurrentLinkedQueue<Long> latencies, long errors) {
+            this.latencies = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            this.completed = this.latencies.length;
+            this.errors = errors;
+        }
+
+        private double percentile(double quantile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
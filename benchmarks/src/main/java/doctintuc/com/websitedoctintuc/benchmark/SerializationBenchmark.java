@@ -0,0 +1,72 @@
+package doctintuc.com.websitedoctintuc.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import doctintuc.com.websitedoctintuc.adapter.web.base.RestData;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
+import doctintuc.com.websitedoctintuc.domain.entity.Category;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import doctintuc.com.websitedoctintuc.domain.pagine.PaginateDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a home page response, with full entities and with the list projection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    //Content length of a typical article body
+    @Param({"4000"})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+
+    private RestData<PaginateDTO<News>> newsPage;
+
+    private RestData<PaginateDTO<NewsSummary>> summaryPage;
+
+    @Setup
+    public void setUp() {
+        //Same defaults as the ObjectMapper Spring Boot gives to the MVC converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Category category = new Category(1, "Thể thao", "Tin thể thao");
+        String content = "<p>" + "Nội dung bài viết ".repeat(contentLength / 18) + "</p>";
+        List<News> news = new ArrayList<>(pageSize);
+        List<NewsSummary> summaries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            News item = new News(i, "Tiêu đề bài viết số " + i, content, "Tác giả", "Mô tả ngắn của bài viết", "https://res.cloudinary.com/demo/image/upload/news-" + i + ".jpg", i * 10);
+            item.setCategory(category);
+            item.setCreateDate(new Timestamp(System.currentTimeMillis()));
+            news.add(item);
+            summaries.add(new NewsSummary(i, item.getTitle(), item.getDescription(), item.getThumbnail(), item.getAuthor(),
+                    item.getView(), category.getId(), category.getCategoryName(), new Date()));
+        }
+        newsPage = new RestData<>(new PaginateDTO<>(news, 0, 10));
+        summaryPage = new RestData<>(new PaginateDTO<>(summaries, 0, 10));
+    }
+
+    @Benchmark
+    public byte[] serializeNewsPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(newsPage);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+}
@@ -0,0 +1,38 @@
+package doctintuc.com.websitedoctintuc.benchmark;
+
+import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
+import doctintuc.com.websitedoctintuc.application.service.user_detail.UserDetailImp;
+import doctintuc.com.websitedoctintuc.domain.entity.Role;
+import doctintuc.com.websitedoctintuc.domain.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a loaded user to the principal handed to Spring Security.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        Role role = new Role();
+        role.setRoleName(EnumRole.ROLE_USER);
+        user = new User();
+        user.setUsername("user");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setRole(role);
+    }
+
+    @Benchmark
+    public UserDetailImp map() {
+        return UserDetailImp.map(user);
+    }
+}
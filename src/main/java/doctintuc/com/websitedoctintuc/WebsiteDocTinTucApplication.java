@@ -5,10 +5,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @SpringBootApplication
+@EnableScheduling
 public class WebsiteDocTinTucApplication {
 
     public static void main(String[] args) {
@@ -34,6 +36,8 @@ public class WebsiteDocTinTucApplication {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/api/v1/**")
                         .allowedOrigins("https://localhost:8080");
+                registry.addMapping("/api/v2/**")
+                        .allowedOrigins("https://localhost:8080");
             }
         };
     }
@@ -0,0 +1,15 @@
+package doctintuc.com.websitedoctintuc.adapter.web.base;
+
+
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@RestController
+@RequestMapping("/api/v2")
+public @interface RestApiV2 {
+}
@@ -1,8 +1,15 @@
 package doctintuc.com.websitedoctintuc.adapter.web.base;
 
+import doctintuc.com.websitedoctintuc.application.cache.PayloadCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Date;
+import java.util.Locale;
+
 public class VsResponseUtil {
     public static ResponseEntity<RestData<?>> ok(Object data) {
         return ok(HttpStatus.OK, data);
@@ -13,6 +20,55 @@ public class VsResponseUtil {
         return new ResponseEntity<>(response, status);
     }
 
+    /**
+     * Cacheable response, answered with 304 by Spring when the request validators still match.
+     */
+    public static ResponseEntity<RestData<?>> ok(Object data, String eTag, Date lastModified, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModified.getTime());
+        }
+        return builder.body(new RestData<>(data));
+    }
+
+    /**
+     * Pre-serialized response, the gzip bytes are sent as they are when the client accepts them.
+     */
+    public static ResponseEntity<byte[]> ok(PayloadCache.Payload payload, String acceptEncoding, String eTag,
+                                            Date lastModified, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (lastModified != null) {
+            builder.lastModified(lastModified.getTime());
+        }
+        if (payload.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.getGzip());
+        }
+        return builder.body(payload.getJson());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equals("gzip") || name.equals("*")) {
+                //gzip;q=0 refuses it
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    public static ResponseEntity<RestData<?>> notModified(CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+    }
+
     public static ResponseEntity<RestData<?>> error(HttpStatus status, String userMessage, String devMessage) {
         RestData<?> response = RestData.error(userMessage, devMessage);
         return new ResponseEntity<>(response, status);
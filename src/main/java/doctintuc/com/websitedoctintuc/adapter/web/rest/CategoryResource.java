@@ -6,6 +6,7 @@ import io.swagger.annotations.ApiOperation;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -18,6 +19,11 @@ public interface CategoryResource {
     ResponseEntity<?> searchPageCategory(@RequestParam(name = "page", defaultValue = "0") Integer page,
                                      @RequestParam(name = "size", defaultValue = "10") Integer size);
 
+    @ApiOperation(value = "Scroll category by cursor")
+    @GetMapping("/admin/scroll-category")
+    ResponseEntity<?> scrollCategory(@RequestParam(name = "cursor", required = false) String cursor,
+                                     @RequestParam(name = "size", defaultValue = "10") Integer size);
+
     @ApiOperation(value = "Create new category")
     @PostMapping("/admin/create-category")
     ResponseEntity<?> createCategory(@RequestBody CategoryDTO categoryDTO , HttpServletRequest request);
@@ -39,5 +45,5 @@ public interface CategoryResource {
 
     @ApiOperation(value = "Get all category")
     @GetMapping("/no-auth/search-category")
-    ResponseEntity<?> getAllCategory();
+    ResponseEntity<?> getAllCategory(WebRequest webRequest);
 }
@@ -1,9 +1,33 @@
 package doctintuc.com.websitedoctintuc.adapter.web.rest;
 
+import doctintuc.com.websitedoctintuc.domain.dto.CommentDTO;
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
 
 @Validated
 @Api(tags = "Comment Resource")
 public interface CommentResource {
+
+    @ApiOperation(value = "Post comment on news")
+    @PostMapping("/both/post-comment/{newsId}")
+    ResponseEntity<?> post(@PathVariable Integer newsId, @RequestBody CommentDTO commentDTO, HttpServletRequest request);
+
+    @ApiOperation(value = "Scroll comments of news by cursor")
+    @GetMapping("/no-auth/scroll-comments/{newsId}")
+    ResponseEntity<?> scrollComments(@PathVariable Integer newsId,
+                                     @RequestParam(name = "cursor", required = false) String cursor,
+                                     @RequestParam(name = "size", required = false, defaultValue = "20") Integer size);
+
+    @ApiOperation(value = "Count comments of news")
+    @GetMapping("/no-auth/count-comments/{newsId}")
+    ResponseEntity<?> countComments(@PathVariable Integer newsId);
+
+    @ApiOperation(value = "Delete comment by id")
+    @PostMapping("/both/delete-comment/{id}")
+    ResponseEntity<?> delete(@PathVariable Integer id, HttpServletRequest request);
 }
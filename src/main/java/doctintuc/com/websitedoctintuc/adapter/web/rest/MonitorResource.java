@@ -0,0 +1,56 @@
+package doctintuc.com.websitedoctintuc.adapter.web.rest;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+
+@Validated
+@Api(tags = "Monitor Resource")
+public interface MonitorResource {
+
+    @ApiOperation(value = "Get view counter statistics")
+    @GetMapping("/admin/monitor/view-counter")
+    ResponseEntity<?> getViewCounterStats();
+
+    @ApiOperation(value = "Get news read cache statistics")
+    @GetMapping("/admin/monitor/news-cache")
+    ResponseEntity<?> getNewsCacheStats();
+
+    @ApiOperation(value = "Get principal cache statistics")
+    @GetMapping("/admin/monitor/principal-cache")
+    ResponseEntity<?> getPrincipalCacheStats();
+
+    @ApiOperation(value = "Get verified token cache statistics")
+    @GetMapping("/admin/monitor/jwt-cache")
+    ResponseEntity<?> getJwtCacheStats();
+
+    @ApiOperation(value = "Get watch history queue statistics")
+    @GetMapping("/admin/monitor/watch-history")
+    ResponseEntity<?> getWatchHistoryStats();
+
+    @ApiOperation(value = "Get trending ranking statistics")
+    @GetMapping("/admin/monitor/trending")
+    ResponseEntity<?> getTrendingStats();
+
+    @ApiOperation(value = "Get news read executor statistics")
+    @GetMapping("/admin/monitor/news-read-executor")
+    ResponseEntity<?> getNewsReadExecutorStats();
+
+    @ApiOperation(value = "Get pre-serialized payload cache statistics")
+    @GetMapping("/admin/monitor/payload-cache")
+    ResponseEntity<?> getPayloadCacheStats();
+
+    @ApiOperation(value = "Get reference data statistics")
+    @GetMapping("/admin/monitor/reference-data")
+    ResponseEntity<?> getReferenceDataStats();
+
+    @ApiOperation(value = "Get comment writer and thread cache statistics")
+    @GetMapping("/admin/monitor/comments")
+    ResponseEntity<?> getCommentStats();
+
+    @ApiOperation(value = "Get image upload statistics")
+    @GetMapping("/admin/monitor/upload")
+    ResponseEntity<?> getUploadStats();
+}
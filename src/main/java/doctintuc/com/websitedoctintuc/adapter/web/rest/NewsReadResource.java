@@ -0,0 +1,42 @@
+package doctintuc.com.websitedoctintuc.adapter.web.rest;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read only news endpoints handled asynchronously, same responses as their {@code /api/v1} counterparts.
+ */
+@Validated
+@Api(tags = "News Read Resource")
+public interface NewsReadResource {
+
+    @ApiOperation(value = "Get news by id")
+    @GetMapping("/no-auth/get-news/{id}")
+    CompletableFuture<ResponseEntity<?>> get(@PathVariable("id") Integer id);
+
+    @ApiOperation(value = "Paginate home page")
+    @GetMapping("/no-auth/paginate-home")
+    CompletableFuture<ResponseEntity<?>> paginateHomePage(@RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
+                                                          @RequestParam(name = "size", required = false, defaultValue = "10") Integer size);
+
+    @ApiOperation(value = "Get favorite news")
+    @GetMapping("/no-auth/favorite-new")
+    CompletableFuture<ResponseEntity<?>> getFavoriteNews();
+
+    @ApiOperation(value = "Get least news")
+    @GetMapping("/no-auth/least-new")
+    CompletableFuture<ResponseEntity<?>> getLeastNews();
+
+    @ApiOperation("News search")
+    @GetMapping("/no-auth/search-news")
+    CompletableFuture<ResponseEntity<?>> searchNews(@RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
+                                                    @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+                                                    @RequestParam(name = "key") String key);
+}
@@ -1,13 +1,20 @@
 package doctintuc.com.websitedoctintuc.adapter.web.rest;
 
+import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
 import doctintuc.com.websitedoctintuc.domain.dto.NewsDTO;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
 
 @Validated
 @Api(tags = "News Resource")
@@ -17,9 +24,13 @@ public interface NewsResource {
     @PostMapping("/admin/create-news")
     ResponseEntity<?> create(@RequestBody NewsDTO newsDTO, HttpServletRequest request);
 
+    @ApiOperation(value = "Import news in bulk from a JSON array or newline delimited JSON")
+    @PostMapping(value = "/admin/import-news", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    ResponseEntity<?> importNews(HttpServletRequest request) throws IOException;
+
     @ApiOperation(value = "Get news by id")
     @GetMapping("/no-auth/get-news/{id}")
-    ResponseEntity<?> get(@PathVariable("id") Integer id);
+    ResponseEntity<?> get(@PathVariable("id") Integer id, WebRequest webRequest);
 
     @ApiOperation(value = "Update news by id")
     @PostMapping("/admin/news/update/{newsId}")
@@ -36,9 +47,14 @@ public interface NewsResource {
     ResponseEntity<?> searchAllNewsByAdmin(@RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
                                            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size);
 
-    @ApiOperation(value = "Search all news")
+    @ApiOperation(value = "Search all news, streamed, /admin/export-news is resumable")
     @GetMapping("/admin/search-all-not-paginate")
-    ResponseEntity<?> searchAllNotPaginate();
+    void searchAllNotPaginate(HttpServletResponse response) throws IOException;
+
+    @ApiOperation(value = "Export all news as newline delimited JSON, resumable after the last exported id")
+    @GetMapping("/admin/export-news")
+    void exportNews(@RequestParam(name = "afterId", required = false) Integer afterId,
+                    HttpServletResponse response) throws IOException;
 
     @ApiOperation(value = "Delete news by id")
     @GetMapping("/admin/delete/{id}")
@@ -47,17 +63,27 @@ public interface NewsResource {
 
     @ApiOperation(value = "Get favorite news")
     @GetMapping("/no-auth/favorite-new")
-    ResponseEntity<?> getFavoriteNews();
+    ResponseEntity<?> getFavoriteNews(WebRequest webRequest);
+
+    @ApiOperation(value = "Get trending news, overall or in a category")
+    @GetMapping("/no-auth/trending")
+    ResponseEntity<?> getTrendingNews(@RequestParam(name = "categoryId", required = false) Integer categoryId,
+                                      @RequestParam(name = "size", required = false, defaultValue = "10") Integer size);
 
     @ApiOperation(value = "Get least news")
     @GetMapping("/no-auth/least-new")
-    ResponseEntity<?> getLeastNews();
+    ResponseEntity<?> getLeastNews(WebRequest webRequest);
 
     @ApiOperation(value = "Paginate home page")
     @GetMapping("/no-auth/paginate-home")
     ResponseEntity<?> paginateHomePage(@RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
                                        @RequestParam(name = "size", required = false, defaultValue = "10") Integer size);
 
+    @ApiOperation(value = "Scroll home page by cursor")
+    @GetMapping("/no-auth/scroll-home")
+    ResponseEntity<?> scrollHomePage(@RequestParam(name = "cursor", required = false) String cursor,
+                                     @RequestParam(name = "size", required = false, defaultValue = "10") Integer size);
+
     @ApiOperation(value = "Update view count")
     @GetMapping("/no-auth/set-view/{id}")
     ResponseEntity<?> setView(@PathVariable("id") Integer id);
@@ -69,6 +95,10 @@ public interface NewsResource {
                                           @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
                                           @RequestParam(name = "author", required = false) String author,
                                           @RequestParam(name = "title", required = false) String title,
+                                          @RequestParam(name = "from", required = false)
+                                          @DateTimeFormat(pattern = CommonConstant.FORMAT_DATE_PATTERN) Date from,
+                                          @RequestParam(name = "to", required = false)
+                                          @DateTimeFormat(pattern = CommonConstant.FORMAT_DATE_PATTERN) Date to,
                                           @RequestParam(name = "filter", required = false) String filter);
 
 
@@ -88,5 +118,7 @@ public interface NewsResource {
 
     @ApiOperation("Get all news watched")
     @GetMapping("/user/get-all-news-watched")
-    ResponseEntity<?> getAllNewsWatched(HttpServletRequest request);
+    ResponseEntity<?> getAllNewsWatched(@RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
+                                        @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+                                        HttpServletRequest request);
 }
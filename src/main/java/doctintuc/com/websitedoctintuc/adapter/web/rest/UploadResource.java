@@ -0,0 +1,27 @@
+package doctintuc.com.websitedoctintuc.adapter.web.rest;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@Validated
+@Api(tags = "Upload Resource")
+public interface UploadResource {
+
+    @ApiOperation(value = "Upload image, returns a job to poll for the url")
+    @PostMapping(value = "/both/upload-image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file) throws IOException;
+
+    @ApiOperation(value = "Get upload job by id")
+    @GetMapping("/both/upload-job/{id}")
+    ResponseEntity<?> getUploadJob(@PathVariable String id);
+}
@@ -42,6 +42,10 @@ public interface UserResource {
     ResponseEntity<?> searchAll(@RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
                                 @RequestParam(name = "size", required = false, defaultValue = "10") Integer size);
 
+    @ApiOperation(value = "Scroll all user by cursor")
+    @GetMapping("/admin/scroll-users")
+    ResponseEntity<?> scrollAll(@RequestParam(name = "cursor", required = false) String cursor,
+                                @RequestParam(name = "size", required = false, defaultValue = "10") Integer size);
 
     @ApiOperation(value = "Login")
     @PostMapping("/no-auth/login")
@@ -3,10 +3,15 @@ package doctintuc.com.websitedoctintuc.adapter.web.rest.impl;
 import doctintuc.com.websitedoctintuc.adapter.web.base.RestApiV1;
 import doctintuc.com.websitedoctintuc.adapter.web.base.VsResponseUtil;
 import doctintuc.com.websitedoctintuc.adapter.web.rest.CategoryResource;
+import doctintuc.com.websitedoctintuc.application.cache.HttpCachePolicy;
+import doctintuc.com.websitedoctintuc.application.cache.PayloadCache;
 import doctintuc.com.websitedoctintuc.application.service.ICategoryService;
 import doctintuc.com.websitedoctintuc.domain.dto.CategoryDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.TableVersion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -16,11 +21,20 @@ public class CategoryResourceImpl implements CategoryResource {
 
     private final ICategoryService categoryService;
 
+    private final HttpCachePolicy httpCachePolicy;
+
+    private final PayloadCache payloadCache;
+
     @Override
     public ResponseEntity<?> searchPageCategory(Integer page, Integer size) {
         return VsResponseUtil.ok(categoryService.searchPageCategory(page, size));
     }
 
+    @Override
+    public ResponseEntity<?> scrollCategory(String cursor, Integer size) {
+        return VsResponseUtil.ok(categoryService.scrollCategory(cursor, size));
+    }
+
     @Override
     public ResponseEntity<?> createCategory(CategoryDTO categoryDTO, HttpServletRequest request) {
         return VsResponseUtil.ok(categoryService.create(categoryDTO, request));
@@ -42,7 +56,14 @@ public class CategoryResourceImpl implements CategoryResource {
     }
 
     @Override
-    public ResponseEntity<?> getAllCategory() {
-        return VsResponseUtil.ok(categoryService.searchAllCategory());
+    public ResponseEntity<?> getAllCategory(WebRequest webRequest) {
+        //No Last-Modified, a deleted category does not move it forward
+        TableVersion version = categoryService.categoryVersion();
+        String eTag = httpCachePolicy.tableETag("categories", version.getRows(), version.getLastModified());
+        if (webRequest.checkNotModified(eTag)) {
+            return VsResponseUtil.notModified(httpCachePolicy.anonymousRead());
+        }
+        return VsResponseUtil.ok(payloadCache.get(eTag, categoryService::searchAllCategory),
+                webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING), eTag, null, httpCachePolicy.anonymousRead());
     }
 }
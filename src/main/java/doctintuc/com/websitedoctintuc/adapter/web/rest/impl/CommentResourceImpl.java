@@ -1,8 +1,46 @@
 package doctintuc.com.websitedoctintuc.adapter.web.rest.impl;
 
 import doctintuc.com.websitedoctintuc.adapter.web.base.RestApiV1;
+import doctintuc.com.websitedoctintuc.adapter.web.base.VsResponseUtil;
 import doctintuc.com.websitedoctintuc.adapter.web.rest.CommentResource;
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import doctintuc.com.websitedoctintuc.application.service.ICommentService;
+import doctintuc.com.websitedoctintuc.domain.dto.CommentDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.CommentView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import javax.servlet.http.HttpServletRequest;
 
 @RestApiV1
+@RequiredArgsConstructor
 public class CommentResourceImpl implements CommentResource {
+
+    private final ICommentService commentService;
+
+    @Override
+    public ResponseEntity<?> post(Integer newsId, CommentDTO commentDTO, HttpServletRequest request) {
+        CommentView comment = commentService.post(newsId, commentDTO, request);
+        if (comment == null) {
+            return VsResponseUtil.error(HttpStatus.SERVICE_UNAVAILABLE, DevMessageConstant.Common.SERVER_BUSY);
+        }
+        //Accepted, the comment is written by the next flush
+        return VsResponseUtil.ok(HttpStatus.ACCEPTED, comment);
+    }
+
+    @Override
+    public ResponseEntity<?> scrollComments(Integer newsId, String cursor, Integer size) {
+        return VsResponseUtil.ok(commentService.scrollComments(newsId, cursor, size));
+    }
+
+    @Override
+    public ResponseEntity<?> countComments(Integer newsId) {
+        return VsResponseUtil.ok(commentService.countComments(newsId));
+    }
+
+    @Override
+    public ResponseEntity<?> delete(Integer id, HttpServletRequest request) {
+        return VsResponseUtil.ok(commentService.delete(id, request));
+    }
 }
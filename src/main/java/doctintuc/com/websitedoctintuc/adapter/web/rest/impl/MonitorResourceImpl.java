@@ -0,0 +1,90 @@
+package doctintuc.com.websitedoctintuc.adapter.web.rest.impl;
+
+import doctintuc.com.websitedoctintuc.adapter.web.base.RestApiV1;
+import doctintuc.com.websitedoctintuc.adapter.web.base.VsResponseUtil;
+import doctintuc.com.websitedoctintuc.adapter.web.rest.MonitorResource;
+import doctintuc.com.websitedoctintuc.application.cache.NewsReadCache;
+import doctintuc.com.websitedoctintuc.application.cache.PayloadCache;
+import doctintuc.com.websitedoctintuc.application.cache.PrincipalCache;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
+import doctintuc.com.websitedoctintuc.application.comment.CommentWriter;
+import doctintuc.com.websitedoctintuc.application.counter.NewsViewCounter;
+import doctintuc.com.websitedoctintuc.application.history.WatchHistoryWriter;
+import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
+import doctintuc.com.websitedoctintuc.application.read.NewsReadExecutor;
+import doctintuc.com.websitedoctintuc.application.trending.TrendingRanking;
+import doctintuc.com.websitedoctintuc.application.utils.UploadCloudinary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+@RestApiV1
+@RequiredArgsConstructor
+public class MonitorResourceImpl implements MonitorResource {
+
+    private final NewsViewCounter viewCounter;
+    private final NewsReadCache newsReadCache;
+    private final PrincipalCache principalCache;
+    private final JwtUtils jwtUtils;
+    private final WatchHistoryWriter watchHistoryWriter;
+    private final TrendingRanking trendingRanking;
+    private final NewsReadExecutor newsReadExecutor;
+    private final PayloadCache payloadCache;
+    private final ReferenceData referenceData;
+    private final CommentWriter commentWriter;
+    private final UploadCloudinary uploadCloudinary;
+
+    @Override
+    public ResponseEntity<?> getViewCounterStats() {
+        return VsResponseUtil.ok(viewCounter.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getNewsCacheStats() {
+        return VsResponseUtil.ok(newsReadCache.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getPrincipalCacheStats() {
+        return VsResponseUtil.ok(principalCache.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getJwtCacheStats() {
+        return VsResponseUtil.ok(jwtUtils.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getWatchHistoryStats() {
+        return VsResponseUtil.ok(watchHistoryWriter.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getTrendingStats() {
+        return VsResponseUtil.ok(trendingRanking.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getNewsReadExecutorStats() {
+        return VsResponseUtil.ok(newsReadExecutor.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getPayloadCacheStats() {
+        return VsResponseUtil.ok(payloadCache.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getReferenceDataStats() {
+        return VsResponseUtil.ok(referenceData.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getCommentStats() {
+        return VsResponseUtil.ok(commentWriter.stats());
+    }
+
+    @Override
+    public ResponseEntity<?> getUploadStats() {
+        return VsResponseUtil.ok(uploadCloudinary.stats());
+    }
+}
@@ -0,0 +1,59 @@
+package doctintuc.com.websitedoctintuc.adapter.web.rest.impl;
+
+import doctintuc.com.websitedoctintuc.adapter.web.base.RestApiV2;
+import doctintuc.com.websitedoctintuc.adapter.web.base.VsResponseUtil;
+import doctintuc.com.websitedoctintuc.adapter.web.rest.NewsReadResource;
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import doctintuc.com.websitedoctintuc.application.read.NewsReadExecutor;
+import doctintuc.com.websitedoctintuc.application.service.INewsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+@RestApiV2
+@RequiredArgsConstructor
+public class NewsReadResourceImpl implements NewsReadResource {
+
+    private final INewsService newsService;
+
+    private final NewsReadExecutor readExecutor;
+
+    @Override
+    public CompletableFuture<ResponseEntity<?>> get(Integer id) {
+        return read(() -> newsService.get(id));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<?>> paginateHomePage(Integer page, Integer size) {
+        return read(() -> newsService.paginateHomePage(page, size));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<?>> getFavoriteNews() {
+        return read(newsService::getFavoriteNews);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<?>> getLeastNews() {
+        return read(newsService::getLeastNews);
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<?>> searchNews(Integer page, Integer size, String key) {
+        return read(() -> newsService.searchNews(page, size, key));
+    }
+
+    //Exceptions thrown by the service reach ExceptionHandlerConfig unwrapped
+    private CompletableFuture<ResponseEntity<?>> read(Supplier<Object> reader) {
+        try {
+            return readExecutor.submit(reader).thenApply(VsResponseUtil::ok);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(
+                    VsResponseUtil.error(HttpStatus.SERVICE_UNAVAILABLE, DevMessageConstant.Common.SERVER_BUSY));
+        }
+    }
+}
@@ -3,12 +3,24 @@ package doctintuc.com.websitedoctintuc.adapter.web.rest.impl;
 import doctintuc.com.websitedoctintuc.adapter.web.base.RestApiV1;
 import doctintuc.com.websitedoctintuc.adapter.web.base.VsResponseUtil;
 import doctintuc.com.websitedoctintuc.adapter.web.rest.NewsResource;
+import doctintuc.com.websitedoctintuc.application.cache.HttpCachePolicy;
+import doctintuc.com.websitedoctintuc.application.cache.PayloadCache;
+import doctintuc.com.websitedoctintuc.application.export.NewsExporter;
 import doctintuc.com.websitedoctintuc.application.service.INewsService;
 import doctintuc.com.websitedoctintuc.domain.dto.NewsDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
 
 @RestApiV1
 @RequiredArgsConstructor
@@ -16,14 +28,33 @@ public class NewsResourceImpl implements NewsResource {
 
     private final INewsService newsService;
 
+    private final HttpCachePolicy httpCachePolicy;
+
+    private final PayloadCache payloadCache;
+
     @Override
     public ResponseEntity<?> create(NewsDTO newsDTO, HttpServletRequest request) {
         return VsResponseUtil.ok(newsService.create(newsDTO, request));
     }
 
     @Override
-    public ResponseEntity<?> get(Integer id) {
-        return VsResponseUtil.ok(newsService.get(id));
+    public ResponseEntity<?> importNews(HttpServletRequest request) throws IOException {
+        return VsResponseUtil.ok(newsService.importNews(request.getInputStream(), request));
+    }
+
+    @Override
+    public ResponseEntity<?> get(Integer id, WebRequest webRequest) {
+        //Revalidation only costs the update date lookup, the news is loaded when it changed
+        Date lastModified = newsService.getLastModified(id);
+        if (lastModified == null) {
+            return VsResponseUtil.ok(newsService.get(id));
+        }
+        String eTag = httpCachePolicy.newsETag(id, lastModified);
+        if (webRequest.checkNotModified(eTag, lastModified.getTime())) {
+            return VsResponseUtil.notModified(httpCachePolicy.anonymousRead());
+        }
+        return VsResponseUtil.ok(payloadCache.get(eTag, () -> newsService.get(id)),
+                webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING), eTag, lastModified, httpCachePolicy.anonymousRead());
     }
 
     @Override
@@ -42,8 +73,17 @@ public class NewsResourceImpl implements NewsResource {
     }
 
     @Override
-    public ResponseEntity<?> searchAllNotPaginate() {
-        return VsResponseUtil.ok(newsService.searAllNotPaginate());
+    public void searchAllNotPaginate(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        newsService.searAllNotPaginate(response.getOutputStream());
+    }
+
+    @Override
+    public void exportNews(Integer afterId, HttpServletResponse response) throws IOException {
+        response.setContentType(NewsExporter.CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        newsService.exportNews(afterId, response.getOutputStream());
     }
 
     @Override
@@ -52,13 +92,30 @@ public class NewsResourceImpl implements NewsResource {
     }
 
     @Override
-    public ResponseEntity<?> getFavoriteNews() {
-        return VsResponseUtil.ok(newsService.getFavoriteNews());
+    public ResponseEntity<?> getFavoriteNews(WebRequest webRequest) {
+        List<?> favoriteNews = newsService.getFavoriteNews();
+        //The list comes from the read cache, only its serialization is saved on a match
+        String eTag = httpCachePolicy.listETag("favorite", favoriteNews);
+        if (webRequest.checkNotModified(eTag)) {
+            return VsResponseUtil.notModified(httpCachePolicy.anonymousRead());
+        }
+        return VsResponseUtil.ok(favoriteNews, eTag, null, httpCachePolicy.anonymousRead());
+    }
+
+    @Override
+    public ResponseEntity<?> getTrendingNews(Integer categoryId, Integer size) {
+        return VsResponseUtil.ok(newsService.getTrendingNews(categoryId, size));
     }
 
     @Override
-    public ResponseEntity<?> getLeastNews() {
-        return VsResponseUtil.ok(newsService.getLeastNews());
+    public ResponseEntity<?> getLeastNews(WebRequest webRequest) {
+        List<?> leastNews = newsService.getLeastNews();
+        //The list comes from the read cache, only its serialization is saved on a match
+        String eTag = httpCachePolicy.listETag("least", leastNews);
+        if (webRequest.checkNotModified(eTag)) {
+            return VsResponseUtil.notModified(httpCachePolicy.anonymousRead());
+        }
+        return VsResponseUtil.ok(leastNews, eTag, null, httpCachePolicy.anonymousRead());
     }
 
     @Override
@@ -66,14 +123,21 @@ public class NewsResourceImpl implements NewsResource {
         return VsResponseUtil.ok(newsService.paginateHomePage(page, size));
     }
 
+    @Override
+    public ResponseEntity<?> scrollHomePage(String cursor, Integer size) {
+        return VsResponseUtil.ok(newsService.scrollHomePage(cursor, size));
+    }
+
     @Override
     public ResponseEntity<?> setView(Integer id) {
         return VsResponseUtil.ok(newsService.setView(id));
     }
 
     @Override
-    public ResponseEntity<?> filterNewByCategory(Integer categoryId, Integer page, Integer size, String author, String title, String filter) {
-        return VsResponseUtil.ok(newsService.filterNewsByCategory(page, size, author, title, categoryId, filter));
+    public ResponseEntity<?> filterNewByCategory(Integer categoryId, Integer page, Integer size, String author, String title,
+                                                 Date from, Date to, String filter) {
+        return VsResponseUtil.ok(newsService.filterNewsByCategory(page, size,
+                new NewsFilter(categoryId, author, title, from, to, filter)));
     }
 
     @Override
@@ -92,7 +156,7 @@ public class NewsResourceImpl implements NewsResource {
     }
 
     @Override
-    public ResponseEntity<?> getAllNewsWatched(HttpServletRequest request) {
-        return VsResponseUtil.ok(newsService.getAllNewWatched(request));
+    public ResponseEntity<?> getAllNewsWatched(Integer page, Integer size, HttpServletRequest request) {
+        return VsResponseUtil.ok(newsService.getAllNewWatched(page, size, request));
     }
 }
@@ -0,0 +1,35 @@
+package doctintuc.com.websitedoctintuc.adapter.web.rest.impl;
+
+import doctintuc.com.websitedoctintuc.adapter.web.base.RestApiV1;
+import doctintuc.com.websitedoctintuc.adapter.web.base.VsResponseUtil;
+import doctintuc.com.websitedoctintuc.adapter.web.rest.UploadResource;
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import doctintuc.com.websitedoctintuc.application.utils.UploadCloudinary;
+import doctintuc.com.websitedoctintuc.domain.dto.UploadJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestApiV1
+@RequiredArgsConstructor
+public class UploadResourceImpl implements UploadResource {
+
+    private final UploadCloudinary uploadCloudinary;
+
+    @Override
+    public ResponseEntity<?> uploadImage(MultipartFile file) throws IOException {
+        UploadJob job = uploadCloudinary.submit(file);
+        if (job == null) {
+            return VsResponseUtil.error(HttpStatus.SERVICE_UNAVAILABLE, DevMessageConstant.Common.SERVER_BUSY);
+        }
+        return VsResponseUtil.ok(HttpStatus.ACCEPTED, job);
+    }
+
+    @Override
+    public ResponseEntity<?> getUploadJob(String id) {
+        return VsResponseUtil.ok(uploadCloudinary.getJob(id));
+    }
+}
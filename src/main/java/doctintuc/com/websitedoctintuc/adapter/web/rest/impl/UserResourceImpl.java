@@ -56,6 +56,11 @@ public class UserResourceImpl implements UserResource {
         return VsResponseUtil.ok(userService.searchAll(page, size));
     }
 
+    @Override
+    public ResponseEntity<?> scrollAll(String cursor, Integer size) {
+        return VsResponseUtil.ok(userService.scrollAll(cursor, size));
+    }
+
     @Override
     public ResponseEntity<?> login(LoginRequest loginRequest) {
         return VsResponseUtil.ok(userService.login(loginRequest));
@@ -0,0 +1,94 @@
+package doctintuc.com.websitedoctintuc.application.cache;
+
+import doctintuc.com.websitedoctintuc.domain.dto.CommentView;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per news comment state for hot articles: the first page of the thread, the number of written
+ * comments, and an in-memory counter of the comments accepted by {@code CommentWriter} but not
+ * written yet. Both cached values of a news are dropped when a batch of its comments is written or
+ * one is deleted, so a comment storm costs one reload per flush rather than one per request.
+ */
+@Component
+public class CommentThreadCache {
+
+    private final TtlCache<Integer, CursorPageDTO<CommentView>> firstPages;
+
+    private final TtlCache<Integer, Long> counts;
+
+    //News id -> comments accepted but not written, entries are removed when they reach zero
+    private final ConcurrentHashMap<Integer, Long> pending = new ConcurrentHashMap<>();
+
+    private final int pageSize;
+
+    public CommentThreadCache(@Value("${news.comments.cache.max-entries:1000}") int maxEntries,
+                              @Value("${news.comments.cache.ttl-ms:30000}") long ttlMillis,
+                              @Value("${news.comments.page-size:20}") int pageSize) {
+        this.firstPages = new TtlCache<>("comment-thread", maxEntries, ttlMillis);
+        this.counts = new TtlCache<>("comment-count", maxEntries, ttlMillis);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Only the first page at the default page size is cached, other requests go straight to the loader.
+     */
+    public CursorPageDTO<CommentView> firstPage(int newsId, int size, Function<Integer, CursorPageDTO<CommentView>> loader) {
+        if (size != pageSize) {
+            return loader.apply(newsId);
+        }
+        return firstPages.get(newsId, loader);
+    }
+
+    /**
+     * Written comments, from the cache or the loader, plus the ones still waiting to be written.
+     */
+    public long count(int newsId, Function<Integer, Long> loader) {
+        return counts.get(newsId, loader) + pending(newsId);
+    }
+
+    public long pending(int newsId) {
+        return pending.getOrDefault(newsId, 0L);
+    }
+
+    public void accepted(int newsId) {
+        pending.merge(newsId, 1L, Long::sum);
+    }
+
+    /**
+     * A batch of the news was handled: {@code handled} comments leave the pending counter, written or dropped.
+     */
+    public void handled(int newsId, int handled) {
+        //Invalidated before the counter drops, a reader in between counts the new rows twice but never misses them
+        invalidate(newsId);
+        pending.computeIfPresent(newsId, (id, count) -> count > handled ? count - handled : null);
+    }
+
+    public void invalidate(int newsId) {
+        firstPages.invalidate(newsId);
+        counts.invalidate(newsId);
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public Map<String, Object> stats() {
+        long pendingTotal = 0;
+        for (Long count : pending.values()) {
+            pendingTotal += count;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("firstPage", firstPages.stats());
+        stats.put("count", counts.stats());
+        stats.put("pendingNews", pending.size());
+        stats.put("pendingComments", pendingTotal);
+        return stats;
+    }
+}
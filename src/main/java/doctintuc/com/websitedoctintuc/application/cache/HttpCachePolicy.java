@@ -0,0 +1,53 @@
+package doctintuc.com.websitedoctintuc.application.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validators and {@code Cache-Control} for the anonymous reads. Clients and the CDN keep a response for
+ * {@code max-age}, then revalidate with {@code If-None-Match} / {@code If-Modified-Since} and get a 304
+ * while the version is unchanged.
+ * <p>
+ * ETags are weak: a single news is versioned by its {@code updateDate}, so the view count it carries may
+ * be older than the one in the database until the news itself changes.
+ */
+@Component
+public class HttpCachePolicy {
+
+    private final CacheControl anonymousRead;
+
+    public HttpCachePolicy(@Value("${news.http-cache.max-age-seconds:30}") long maxAgeSeconds,
+                           @Value("${news.http-cache.shared-max-age-seconds:60}") long sharedMaxAgeSeconds) {
+        this.anonymousRead = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+                .sMaxAge(sharedMaxAgeSeconds, TimeUnit.SECONDS)
+                .cachePublic();
+    }
+
+    public CacheControl anonymousRead() {
+        return anonymousRead;
+    }
+
+    public String newsETag(Integer id, Date updateDate) {
+        return weak("news-" + id + "-" + updateDate.getTime());
+    }
+
+    /**
+     * Version hash of a list, elements must implement {@code hashCode} over every serialized field.
+     */
+    public String listETag(String name, List<?> elements) {
+        return weak(name + "-" + elements.size() + "-" + Integer.toHexString(elements.hashCode()));
+    }
+
+    public String tableETag(String name, long rows, Date lastModified) {
+        return weak(name + "-" + rows + "-" + (lastModified == null ? 0 : lastModified.getTime()));
+    }
+
+    private static String weak(String version) {
+        return "W/\"" + version + "\"";
+    }
+}
@@ -0,0 +1,76 @@
+package doctintuc.com.websitedoctintuc.application.cache;
+
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
+import doctintuc.com.websitedoctintuc.domain.pagine.PaginateDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read cache for the anonymous home page lists and the category filter counts. Entries expire after
+ * a short TTL and are dropped as a whole whenever a news is created, updated or deleted.
+ */
+@Component
+public class NewsReadCache {
+
+    private static final String FAVORITE_KEY = "favorite";
+    private static final String LEAST_KEY = "least";
+    private static final String HOME_KEY = "home:%d:%d";
+
+    private final TtlCache<String, Object> cache;
+
+    //Filter signature -> number of matching news
+    private final TtlCache<String, Long> filterCounts;
+
+    private final int homePages;
+
+    public NewsReadCache(@Value("${news.cache.max-entries:64}") int maxEntries,
+                         @Value("${news.cache.ttl-ms:30000}") long ttlMillis,
+                         @Value("${news.cache.home-pages:3}") int homePages,
+                         @Value("${news.cache.filter-count-max-entries:1000}") int filterCountMaxEntries) {
+        this.cache = new TtlCache<>("news-read", maxEntries, ttlMillis);
+        this.filterCounts = new TtlCache<>("news-filter-count", filterCountMaxEntries, ttlMillis);
+        this.homePages = homePages;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<NewsSummary> favoriteNews(Supplier<List<NewsSummary>> loader) {
+        return (List<NewsSummary>) cache.get(FAVORITE_KEY, key -> loader.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<NewsSummary> leastNews(Supplier<List<NewsSummary>> loader) {
+        return (List<NewsSummary>) cache.get(LEAST_KEY, key -> loader.get());
+    }
+
+    /**
+     * Only the first {@code news.cache.home-pages} pages are cached, deeper pages go straight to the loader.
+     */
+    @SuppressWarnings("unchecked")
+    public PaginateDTO<NewsSummary> homePage(int page, int size, Supplier<PaginateDTO<NewsSummary>> loader) {
+        if (page >= homePages) {
+            return loader.get();
+        }
+        return (PaginateDTO<NewsSummary>) cache.get(String.format(HOME_KEY, page, size), key -> loader.get());
+    }
+
+    public long filterCount(String signature, Supplier<Long> loader) {
+        return filterCounts.get(signature, key -> loader.get());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        filterCounts.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("read", cache.stats());
+        stats.put("filterCount", filterCounts.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,80 @@
+package doctintuc.com.websitedoctintuc.application.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import doctintuc.com.websitedoctintuc.adapter.web.base.RestData;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hot responses kept as ready to send bytes, the {@link RestData} envelope serialized once and gzipped
+ * once. Entries are keyed by the ETag of the response, so an update produces a new key and the old
+ * payload simply ages out; nothing has to be invalidated.
+ */
+@Component
+public class PayloadCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final TtlCache<String, Payload> cache;
+
+    private final int compressMinBytes;
+
+    public PayloadCache(ObjectMapper objectMapper,
+                        @Value("${news.payload-cache.max-entries:500}") int maxEntries,
+                        @Value("${news.payload-cache.ttl-ms:600000}") long ttlMillis,
+                        @Value("${news.payload-cache.compress-min-bytes:1024}") int compressMinBytes) {
+        this.objectMapper = objectMapper;
+        this.cache = new TtlCache<>("payload", maxEntries, ttlMillis);
+        this.compressMinBytes = compressMinBytes;
+    }
+
+    public Payload get(String eTag, Supplier<Object> loader) {
+        return cache.get(eTag, key -> serialize(loader.get()));
+    }
+
+    Payload serialize(Object data) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new RestData<>(data));
+            //Small bodies do not shrink enough to pay for the gzip header
+            return new Payload(json, json.length < compressMinBytes ? null : gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    @Getter
+    public static final class Payload {
+        private final byte[] json;
+        //null when not worth compressing
+        private final byte[] gzip;
+
+        Payload(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+    }
+}
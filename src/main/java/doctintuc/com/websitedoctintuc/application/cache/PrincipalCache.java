@@ -0,0 +1,64 @@
+package doctintuc.com.websitedoctintuc.application.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Authenticated principals by username so the JWT filter does not query the users table on every request.
+ * Only username, authorities and user id are kept, never the user entity.
+ */
+@Component
+public class PrincipalCache {
+
+    private final TtlCache<String, UserDetails> cache;
+
+    private final TtlCache<String, Integer> userIds;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-entries:10000}") int maxEntries,
+                          @Value("${security.principal-cache.ttl-ms:60000}") long ttlMillis) {
+        this.cache = new TtlCache<>("principal", maxEntries, ttlMillis);
+        this.userIds = new TtlCache<>("principal-id", maxEntries, ttlMillis);
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, key -> {
+            UserDetails userDetails = loader.apply(key);
+            return new User(userDetails.getUsername(), "", userDetails.getAuthorities());
+        });
+    }
+
+    /**
+     * Id of the user, for writes keyed by user id that only know the username from the token.
+     */
+    public Integer userId(String username, Function<String, Integer> loader) {
+        return userIds.get(username, loader);
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+            userIds.invalidate(username);
+        }
+    }
+
+    /**
+     * For role changes, which affect every user holding the role.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        userIds.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("principal", cache.stats());
+        stats.put("principalId", userIds.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,214 @@
+package doctintuc.com.websitedoctintuc.application.cache;
+
+import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
+import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
+import doctintuc.com.websitedoctintuc.application.repository.CategoryRepository;
+import doctintuc.com.websitedoctintuc.application.repository.RoleRepository;
+import doctintuc.com.websitedoctintuc.domain.dto.TableVersion;
+import doctintuc.com.websitedoctintuc.domain.entity.Category;
+import doctintuc.com.websitedoctintuc.domain.entity.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Categories and roles held as an immutable snapshot, categories in an array indexed by id and roles in
+ * an array indexed by {@link EnumRole#ordinal()}. Reads are a volatile load and an array access.
+ * <p>
+ * Category writes reload the snapshot and swap it in one assignment. Writes made by other instances
+ * are picked up by a scheduled check that compares the table version and reloads only when it moved.
+ * Returned entities are shared and detached, callers must not modify them.
+ */
+@Component
+public class ReferenceData {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceData.class);
+
+    private final CategoryRepository categoryRepository;
+
+    private final RoleRepository roleRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong reloads = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceData(CategoryRepository categoryRepository, RoleRepository roleRepository) {
+        this.categoryRepository = categoryRepository;
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * @return null when there is no category with this id
+     */
+    public Category category(Integer id) {
+        Category[] categories = snapshot().categoriesById;
+        return id == null || id < 0 || id >= categories.length ? null : categories[id];
+    }
+
+    /**
+     * All categories, oldest first.
+     */
+    public List<Category> categories() {
+        return snapshot().categories;
+    }
+
+    public TableVersion categoryVersion() {
+        return snapshot().categoryVersion;
+    }
+
+    public Role role(EnumRole roleName) {
+        return snapshot().rolesByName[roleName.ordinal()];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        lock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            snapshot = load();
+            reloads.incrementAndGet();
+            log.info("Reference data loaded with {} categories in {} ms",
+                    snapshot.categories.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reference-data.refresh-interval-ms:60000}")
+    public void refresh() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            TableVersion version = categoryRepository.findTableVersion();
+            if (version.getRows() != current.categoryVersion.getRows()
+                    || !Objects.equals(time(version.getLastModified()), time(current.categoryVersion.getLastModified()))) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.error("Refresh reference data failed, keep the current snapshot : {}", e.getMessage());
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            lock.lock();
+            try {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<Category> categories = new ArrayList<>();
+        int maxId = -1;
+        Date lastModified = null;
+        for (Category category : categoryRepository.findAll(Sort.by(CommonConstant.SORT_BY_TIME2).ascending())) {
+            categories.add(detach(category));
+            maxId = Math.max(maxId, category.getId());
+            if (category.getUpdateDate() != null && (lastModified == null || category.getUpdateDate().after(lastModified))) {
+                lastModified = category.getUpdateDate();
+            }
+        }
+        //Ids are auto increment and categories few, so the array stays small
+        Category[] categoriesById = new Category[maxId + 1];
+        for (Category category : categories) {
+            categoriesById[category.getId()] = category;
+        }
+        Role[] rolesByName = new Role[EnumRole.values().length];
+        for (Role role : roleRepository.findAll()) {
+            if (role.getRoleName() != null) {
+                rolesByName[role.getRoleName().ordinal()] = detach(role);
+            }
+        }
+        return new Snapshot(categoriesById, Collections.unmodifiableList(categories), rolesByName,
+                new Version(categories.size(), lastModified));
+    }
+
+    //Copies without the lazy collections, which cannot be loaded outside their session
+    private static Category detach(Category category) {
+        Category copy = new Category(category.getId(), category.getCategoryName(), category.getDescription());
+        copy.setParentId(category.getParentId());
+        copy.setCreateDate(category.getCreateDate());
+        copy.setCreateBy(category.getCreateBy());
+        copy.setUpdateDate(category.getUpdateDate());
+        copy.setLastModifiedBy(category.getLastModifiedBy());
+        return copy;
+    }
+
+    private static Role detach(Role role) {
+        Role copy = new Role(role.getRoleName(), null);
+        copy.setId(role.getId());
+        copy.setCreateDate(role.getCreateDate());
+        copy.setCreateBy(role.getCreateBy());
+        copy.setUpdateDate(role.getUpdateDate());
+        copy.setLastModifiedBy(role.getLastModifiedBy());
+        return copy;
+    }
+
+    private static Long time(Date date) {
+        return date == null ? null : date.getTime();
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("categories", current == null ? 0 : current.categories.size());
+        stats.put("categoryArrayLength", current == null ? 0 : current.categoriesById.length);
+        stats.put("reloads", reloads.get());
+        return stats;
+    }
+
+    private static final class Snapshot {
+        private final Category[] categoriesById;
+        private final List<Category> categories;
+        private final Role[] rolesByName;
+        private final TableVersion categoryVersion;
+
+        private Snapshot(Category[] categoriesById, List<Category> categories, Role[] rolesByName,
+                         TableVersion categoryVersion) {
+            this.categoriesById = categoriesById;
+            this.categories = categories;
+            this.rolesByName = rolesByName;
+            this.categoryVersion = categoryVersion;
+        }
+    }
+
+    private static final class Version implements TableVersion {
+        private final long rows;
+        private final Date lastModified;
+
+        private Version(long rows, Date lastModified) {
+            this.rows = rows;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public long getRows() {
+            return rows;
+        }
+
+        @Override
+        public Date getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package doctintuc.com.websitedoctintuc.application.comment;
+
+import doctintuc.com.websitedoctintuc.application.cache.CommentThreadCache;
+import doctintuc.com.websitedoctintuc.domain.entity.Comment;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import doctintuc.com.websitedoctintuc.domain.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind comment ingestion. Posted comments are accepted into a bounded queue and counted as
+ * pending in {@link CommentThreadCache}; a scheduled writer drains the queue and persists each batch
+ * in one transaction, which Hibernate sends as JDBC batches since comment ids are pooled. Author and
+ * news are set as references, no select is made for them.
+ * <p>
+ * Backpressure: the request thread never blocks, a full queue rejects the comment and the caller
+ * answers 503. A batch that fails is retried one comment at a time, a comment that still fails
+ * (e.g. its news was deleted meanwhile) is dropped and counted in {@code failedComments}.
+ */
+@Component
+public class CommentWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentWriter.class);
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CommentThreadCache threadCache;
+
+    private final int batchSize;
+
+    private final int capacity;
+
+    private final BlockingQueue<PendingComment> queue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong acceptedComments = new AtomicLong();
+    private final AtomicLong rejectedComments = new AtomicLong();
+    private final AtomicLong writtenComments = new AtomicLong();
+    private final AtomicLong failedComments = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile int maxQueueDepth;
+    private volatile long lastFlushMillis;
+
+    public CommentWriter(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                         CommentThreadCache threadCache,
+                         @Value("${news.comments.queue-capacity:10000}") int capacity,
+                         @Value("${news.comments.batch-size:200}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threadCache = threadCache;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return false when the queue is full and the comment was rejected
+     */
+    public boolean enqueue(int userId, int newsId, String content, String image, String createBy) {
+        if (!queue.offer(new PendingComment(userId, newsId, content, image, createBy))) {
+            rejectedComments.incrementAndGet();
+            return false;
+        }
+        threadCache.accepted(newsId);
+        acceptedComments.incrementAndGet();
+        int depth = queue.size();
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${news.comments.flush-interval-ms:500}")
+    public void flush() {
+        lock.lock();
+        try {
+            long start = System.currentTimeMillis();
+            //Only comments queued before this run, later ones wait for the next
+            int remaining = queue.size();
+            if (remaining == 0) {
+                return;
+            }
+            List<PendingComment> drained = new ArrayList<>(Math.min(remaining, batchSize));
+            while (remaining > 0 && queue.drainTo(drained, Math.min(remaining, batchSize)) > 0) {
+                remaining -= drained.size();
+                write(drained);
+                drained.clear();
+            }
+            flushCount.incrementAndGet();
+            lastFlushMillis = System.currentTimeMillis() - start;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<PendingComment> comments) {
+        try {
+            insert(comments);
+            writtenComments.addAndGet(comments.size());
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            log.warn("Write {} comments failed, retry one by one : {}", comments.size(), e.getMessage());
+            for (PendingComment comment : comments) {
+                try {
+                    insert(List.of(comment));
+                    writtenComments.incrementAndGet();
+                } catch (Exception ex) {
+                    failedComments.incrementAndGet();
+                    log.error("Drop comment of user {} on news {} : {}", comment.userId, comment.newsId, ex.getMessage());
+                }
+            }
+        }
+        Map<Integer, Integer> perNews = new LinkedHashMap<>();
+        for (PendingComment comment : comments) {
+            perNews.merge(comment.newsId, 1, Integer::sum);
+        }
+        perNews.forEach(threadCache::handled);
+    }
+
+    private void insert(List<PendingComment> comments) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (PendingComment pending : comments) {
+                Comment comment = new Comment(pending.content, pending.image,
+                        entityManager.getReference(User.class, pending.userId),
+                        entityManager.getReference(News.class, pending.newsId));
+                comment.setCreateBy(pending.createBy);
+                comment.setLastModifiedBy(pending.createBy);
+                entityManager.persist(comment);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flush comments before shutdown, queued comments = {}", queue.size());
+        flush();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("maxQueueDepth", maxQueueDepth);
+        stats.put("capacity", capacity);
+        stats.put("acceptedComments", acceptedComments.get());
+        stats.put("rejectedComments", rejectedComments.get());
+        stats.put("writtenComments", writtenComments.get());
+        stats.put("failedComments", failedComments.get());
+        stats.put("flushCount", flushCount.get());
+        stats.put("failedBatches", failedBatches.get());
+        stats.put("lastFlushMillis", lastFlushMillis);
+        stats.put("thread", threadCache.stats());
+        return stats;
+    }
+
+    private static final class PendingComment {
+        private final int userId;
+        private final int newsId;
+        private final String content;
+        private final String image;
+        private final String createBy;
+
+        private PendingComment(int userId, int newsId, String content, String image, String createBy) {
+            this.userId = userId;
+            this.newsId = newsId;
+            this.content = content;
+            this.image = image;
+            this.createBy = createBy;
+        }
+    }
+}
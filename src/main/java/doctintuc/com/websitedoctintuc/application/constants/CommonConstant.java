@@ -8,9 +8,12 @@ public class CommonConstant {
         public  static String USER_CLASS_NAME = "User";
         public  static String CATEGORY_CLASS_NAME = "Category";
         public  static String NEWS_CLASS_NAME = "News";
+        public  static String COMMENT_CLASS_NAME = "Comment";
+        public  static String UPLOAD_JOB_CLASS_NAME = "Upload job";
 
     }
     public static int SIZE_OFF_PAGE = 10;
+    public static final int MAX_SCROLL_SIZE = 100;
     public static final String SORT_ASC = "ASC";
     public static final String SORT_DESC = "DESC";
     public static final String ROLE_SUPER_ADMIN = "super_admin";
@@ -18,6 +18,9 @@ public class DevMessageConstant {
         public static final String CONFIRM_SUCCESSFUL = "Confirm account successful!";
         public static final String TOKEN_EXPIRED = "This token is expired!";
         public static final String TOKEN_INVALID= "This token is not valid!";
+        public static final String CURSOR_INVALID = "This cursor : %s is not valid";
+        public static final String SIZE_INVALID = "Size must be between 1 and %s, was %s";
+        public static final String SERVER_BUSY = "Server is busy, please try again later";
         public static final String CONFIRMED = "This account confirmed! ";
         public static final String DATA_WAS_DELETE = "This object id = %s was delete";
         public static final String DATE_WAS_DISABLE = "This object id = %s was disable";
@@ -32,6 +35,10 @@ public class DevMessageConstant {
         public static final String ACCOUNT_IS_NOT_ENABLE = "This account is not enable";
         public static final String NOT_FOUND_CONFIRM_TOKEN = "Not found ConfirmationToken by token";
         public static final String DUPLICATE_NAME = "Duplicate name = %s";
+        public static final String IMPORT_TOO_LARGE = "Import is limited to %s news, the rest was not read";
+        public static final String IMPORT_UNREADABLE = "Can not read news at index %s : %s";
+        public static final String COMMENT_IS_BLANK = "Comment is not blank";
+        public static final String COMMENT_TOO_LONG = "Comment is limited to %s characters";
         public static final String EXITS_NAME = "This name : %s is exits";
         public static final String EXITS_PHONE = "This phone : %s is exits";
         public static final String EXITS_USERNAME = "This username : %s is exits";
@@ -39,6 +46,9 @@ public class DevMessageConstant {
         public static final String OBJECT_IS_EXITS = "This object is exits";
         public static final String REFRESH_TOKEN_EXPIRED = "Refresh token is expired . Pleas sign in";
         public static final String EMPTY = "File is empty";
+        public static final String SRCSET_TOO_LONG = "Thumbnail srcset is limited to %s characters";
+        public static final String SRCSET_INVALID = "Thumbnail srcset entry '%s' is not an uploaded image url followed by its width";
+        public static final String NOT_AN_IMAGE = "This file type : %s is not an image";
         public static final String NOTIFICATION_UPDATE_SUCCESS = "Update object by id is successful!";
         public static final String NOTIFICATION_UPDATE_FAILED = "Update object by id is failed!";
         public static final String UPLOAD_DATA_FROM_EXCEL_FILE_SUCCESS = "Upload data from excel file success!";
@@ -0,0 +1,157 @@
+package doctintuc.com.websitedoctintuc.application.counter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind view counter. Page views are absorbed by one {@link LongAdder} per news id and
+ * flushed on a schedule as aggregated deltas with batched {@code UPDATE news SET view = view + ?}.
+ */
+@Component
+public class NewsViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsViewCounter.class);
+
+    static final String UPDATE_VIEW_SQL = "UPDATE news SET view = view + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final int idleFlushes;
+
+    private final ConcurrentHashMap<Integer, Counter> counters = new ConcurrentHashMap<>();
+
+    //Adders evicted on the previous flush, drained once more in case a writer still held a reference
+    private List<Map.Entry<Integer, Counter>> retired = new ArrayList<>();
+
+    private final AtomicLong flushedViews = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile long lastFlushMillis;
+
+    public NewsViewCounter(JdbcTemplate jdbcTemplate,
+                           @Value("${news.view-counter.batch-size:500}") int batchSize,
+                           @Value("${news.view-counter.idle-flushes:3}") int idleFlushes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.idleFlushes = idleFlushes;
+    }
+
+    public void increment(int newsId) {
+        Counter counter = counters.get(newsId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(newsId, id -> new Counter());
+        }
+        counter.adder.increment();
+    }
+
+    /**
+     * Views counted in memory but not yet written to the news table.
+     */
+    public long pending(int newsId) {
+        Counter counter = counters.get(newsId);
+        return counter == null ? 0 : counter.adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${news.view-counter.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        long start = System.currentTimeMillis();
+        Map<Integer, Long> deltas = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Counter> entry : retired) {
+            long delta = entry.getValue().adder.sumThenReset();
+            if (delta > 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+        List<Map.Entry<Integer, Counter>> nextRetired = new ArrayList<>();
+        for (Map.Entry<Integer, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            long delta = counter.adder.sumThenReset();
+            if (delta > 0) {
+                counter.idle = 0;
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            } else if (++counter.idle >= idleFlushes && counters.remove(entry.getKey(), counter)) {
+                nextRetired.add(Map.entry(entry.getKey(), counter));
+            }
+        }
+        retired = nextRetired;
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(Math.min(deltas.size(), batchSize));
+        for (Map.Entry<Integer, Long> entry : deltas.entrySet()) {
+            batch.add(new Object[]{entry.getValue(), entry.getKey()});
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        flushCount.incrementAndGet();
+        lastFlushMillis = System.currentTimeMillis() - start;
+    }
+
+    private void write(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_VIEW_SQL, batch);
+            for (Object[] args : batch) {
+                flushedViews.addAndGet((Long) args[0]);
+            }
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            log.error("Flush view counter failed, keeping {} deltas for next run : {}", batch.size(), e.getMessage());
+            for (Object[] args : batch) {
+                counters.computeIfAbsent((Integer) args[1], id -> new Counter()).adder.add((Long) args[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flush view counter before shutdown, pending views = {}", pendingTotal());
+        flush();
+        //Drain adders retired by the last run as well
+        flush();
+    }
+
+    public long pendingTotal() {
+        long total = 0;
+        for (Counter counter : counters.values()) {
+            total += counter.adder.sum();
+        }
+        return total;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingViews", pendingTotal());
+        stats.put("trackedNews", counters.size());
+        stats.put("flushedViews", flushedViews.get());
+        stats.put("flushCount", flushCount.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+
+    private static final class Counter {
+        private final LongAdder adder = new LongAdder();
+        //Only touched by the flushing thread
+        private int idle;
+    }
+}
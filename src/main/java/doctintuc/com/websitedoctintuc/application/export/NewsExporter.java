@@ -0,0 +1,152 @@
+package doctintuc.com.websitedoctintuc.application.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import doctintuc.com.websitedoctintuc.adapter.web.base.RestStatus;
+import doctintuc.com.websitedoctintuc.domain.entity.Category;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Streams every news as newline delimited JSON, one {@link News} object per line in id order.
+ * <p>
+ * Rows come from a forward only, read only JDBC cursor and are written to the output as they are
+ * read, so memory stays constant however large the archive is. An interrupted export is resumed by
+ * passing the id of the last line received as {@code afterId}. {@link #exportEnvelope} streams the
+ * same rows as one array in the usual response envelope.
+ */
+@Component
+public class NewsExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsExporter.class);
+
+    public static final String CONTENT_TYPE = MediaType.APPLICATION_NDJSON_VALUE;
+
+    static final String EXPORT_SQL = "SELECT n.id, n.create_date, n.create_by, n.last_modified_date, n.last_modified_by, " +
+            "n.title, n.content, n.author, n.description, n.thumbnail, n.thumbnail_srcset, n.view, " +
+            "c.id AS category_id, c.category_name, c.description AS category_description, c.parent_id " +
+            "FROM news n LEFT JOIN categories c ON c.id = n.category_id WHERE n.id > ? ORDER BY n.id";
+
+    //MySQL Connector/J only streams row by row with this fetch size, any other value buffers the whole result
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectWriter writer;
+
+    private final int flushRows;
+
+    public NewsExporter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                        @Value("${news.export.flush-rows:100}") int flushRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writer = objectMapper.writerFor(News.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushRows = flushRows;
+    }
+
+    /**
+     * @param afterId only news with a greater id are exported, null for all
+     * @return number of news written
+     */
+    public long export(Integer afterId, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = writer.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            return stream(afterId, generator, true);
+        }
+    }
+
+    /**
+     * Every news as {@code {"status":"SUCCESS","data":[...]}}, the body {@code VsResponseUtil.ok} gives a
+     * list, written as the rows are read.
+     *
+     * @return number of news written
+     */
+    public long exportEnvelope(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = writer.getFactory().createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", RestStatus.SUCCESS.name());
+            generator.writeArrayFieldStart("data");
+            long rows = stream(null, generator, false);
+            generator.writeEndArray();
+            generator.writeEndObject();
+            return rows;
+        }
+    }
+
+    private long stream(Integer afterId, JsonGenerator generator, boolean lines) throws IOException {
+        long start = System.currentTimeMillis();
+        long[] rows = {0};
+        PreparedStatement[] query = {null};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(STREAMING_FETCH_SIZE);
+                statement.setInt(1, afterId == null ? 0 : afterId);
+                query[0] = statement;
+                return statement;
+            }, resultSet -> {
+                try {
+                    writer.writeValue(generator, mapRow(resultSet));
+                    if (lines) {
+                        generator.writeRaw('\n');
+                    }
+                    if (++rows[0] % flushRows == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    //Client went away. Closing a streaming result set makes Connector/J read every remaining
+                    //row off the socket, so the query is killed on the server first and the close only
+                    //drains what is already in flight
+                    cancel(query[0]);
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("News export aborted after {} news : {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        log.info("Exported {} news after id {} in {} ms", rows[0], afterId, System.currentTimeMillis() - start);
+        return rows[0];
+    }
+
+    private static void cancel(PreparedStatement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.warn("Cancel news export query failed, the rest of the result is drained : {}", e.getMessage());
+        }
+    }
+
+    static News mapRow(ResultSet resultSet) throws SQLException {
+        News news = new News(resultSet.getInt("id"), resultSet.getString("title"), resultSet.getString("content"),
+                resultSet.getString("author"), resultSet.getString("description"), resultSet.getString("thumbnail"),
+                resultSet.getInt("view"));
+        news.setThumbnailSrcset(resultSet.getString("thumbnail_srcset"));
+        news.setCreateDate(resultSet.getTimestamp("create_date"));
+        news.setCreateBy(resultSet.getString("create_by"));
+        news.setUpdateDate(resultSet.getTimestamp("last_modified_date"));
+        news.setLastModifiedBy(resultSet.getString("last_modified_by"));
+        int categoryId = resultSet.getInt("category_id");
+        if (!resultSet.wasNull()) {
+            Category category = new Category(categoryId, resultSet.getString("category_name"),
+                    resultSet.getString("category_description"));
+            category.setParentId(resultSet.getString("parent_id"));
+            news.setCategory(category);
+        }
+        return news;
+    }
+}
@@ -1,7 +1,10 @@
 package doctintuc.com.websitedoctintuc.application.filter;
 
+import doctintuc.com.websitedoctintuc.application.cache.PrincipalCache;
+import doctintuc.com.websitedoctintuc.application.jwt.JwtClaimsHolder;
 import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
 import doctintuc.com.websitedoctintuc.application.service.user_detail.UserDetailService;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,14 +30,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
     @Autowired
     private UserDetailService userDetailService;
+    @Autowired
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String token = extractToken(request);
-            if (StringUtils.hasText(token) && jwtUtils.validationToken(token)) {
-                String username = jwtUtils.getUserByToken(token);
-                UserDetails userDetails = userDetailService.loadUserByUsername(username);
+            Claims claims = StringUtils.hasText(token) ? jwtUtils.verify(token) : null;
+            if (claims != null) {
+                JwtClaimsHolder.set(request, token, claims);
+                String username = claims.getSubject();
+                UserDetails userDetails = principalCache.get(username, userDetailService::loadUserByUsername);
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails.getUsername(),
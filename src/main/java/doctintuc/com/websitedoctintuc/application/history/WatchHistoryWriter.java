@@ -0,0 +1,192 @@
+package doctintuc.com.websitedoctintuc.application.history;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous watch history ingestion. Article opens enqueue a (user, news, time) event into a bounded
+ * queue and return at once; a scheduled writer drains the queue, keeps one event per (user, news)
+ * and writes them to {@code usernews} with batched inserts.
+ * <p>
+ * Backpressure: the request thread never blocks. When the queue is full the event is dropped and
+ * counted in {@code droppedEvents}, watch history is best effort while view counts are not affected.
+ * <p>
+ * A batch that fails on a constraint (a user or news deleted since the event) is written again one
+ * event at a time and only the events that still fail are rejected; other failures requeue the batch.
+ */
+@Component
+public class WatchHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(WatchHistoryWriter.class);
+
+    static final String INSERT_SQL = "INSERT INTO usernews (user_id, news_id, watched_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE watched_at = VALUES(watched_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final int capacity;
+
+    private final BlockingQueue<WatchEvent> queue;
+
+    private final AtomicLong enqueuedEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong duplicateEvents = new AtomicLong();
+    private final AtomicLong writtenEvents = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong rejectedEvents = new AtomicLong();
+    private volatile int maxQueueDepth;
+    private volatile long lastFlushMillis;
+
+    public WatchHistoryWriter(JdbcTemplate jdbcTemplate,
+                              @Value("${news.watch-history.queue-capacity:10000}") int capacity,
+                              @Value("${news.watch-history.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return false when the queue is full and the event was dropped
+     */
+    public boolean enqueue(int userId, int newsId) {
+        if (!queue.offer(new WatchEvent(userId, newsId, System.currentTimeMillis()))) {
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+        enqueuedEvents.incrementAndGet();
+        int depth = queue.size();
+        if (depth > maxQueueDepth) {
+            maxQueueDepth = depth;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${news.watch-history.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        long start = System.currentTimeMillis();
+        //Only events queued before this run, failed batches are requeued for the next one
+        int remaining = queue.size();
+        if (remaining == 0) {
+            return;
+        }
+        List<WatchEvent> drained = new ArrayList<>(Math.min(remaining, batchSize));
+        while (remaining > 0 && queue.drainTo(drained, Math.min(remaining, batchSize)) > 0) {
+            remaining -= drained.size();
+            write(deduplicate(drained));
+            drained.clear();
+        }
+        flushCount.incrementAndGet();
+        lastFlushMillis = System.currentTimeMillis() - start;
+    }
+
+    private List<WatchEvent> deduplicate(List<WatchEvent> events) {
+        //Last event of a (user, news) pair wins, the pair is the primary key of usernews
+        Map<Long, WatchEvent> unique = new LinkedHashMap<>();
+        for (WatchEvent event : events) {
+            unique.put(((long) event.userId << 32) | (event.newsId & 0xffffffffL), event);
+        }
+        duplicateEvents.addAndGet(events.size() - unique.size());
+        return new ArrayList<>(unique.values());
+    }
+
+    private void write(List<WatchEvent> events) {
+        List<Object[]> batch = new ArrayList<>(events.size());
+        for (WatchEvent event : events) {
+            batch.add(new Object[]{event.userId, event.newsId, new Timestamp(event.watchedAt)});
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            writtenEvents.addAndGet(events.size());
+        } catch (DataIntegrityViolationException e) {
+            failedFlushes.incrementAndGet();
+            log.warn("Write watch history batch failed, write {} events one by one : {}", events.size(), e.getMessage());
+            writeOneByOne(events);
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            log.error("Write watch history failed, requeue {} events : {}", events.size(), e.getMessage());
+            for (WatchEvent event : events) {
+                if (!queue.offer(event)) {
+                    droppedEvents.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void writeOneByOne(List<WatchEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            WatchEvent event = events.get(i);
+            try {
+                jdbcTemplate.update(INSERT_SQL, event.userId, event.newsId, new Timestamp(event.watchedAt));
+                writtenEvents.incrementAndGet();
+            } catch (DataIntegrityViolationException e) {
+                rejectedEvents.incrementAndGet();
+                log.error("Reject watch history of user {} on news {} : {}", event.userId, event.newsId, e.getMessage());
+            } catch (Exception e) {
+                log.error("Write watch history failed, requeue {} events : {}", events.size() - i, e.getMessage());
+                for (WatchEvent remaining : events.subList(i, events.size())) {
+                    if (!queue.offer(remaining)) {
+                        droppedEvents.incrementAndGet();
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flush watch history before shutdown, queued events = {}", queue.size());
+        flush();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("maxQueueDepth", maxQueueDepth);
+        stats.put("capacity", capacity);
+        stats.put("enqueuedEvents", enqueuedEvents.get());
+        stats.put("droppedEvents", droppedEvents.get());
+        stats.put("duplicateEvents", duplicateEvents.get());
+        stats.put("writtenEvents", writtenEvents.get());
+        stats.put("flushCount", flushCount.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        stats.put("rejectedEvents", rejectedEvents.get());
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+
+    private static final class WatchEvent {
+        private final int userId;
+        private final int newsId;
+        private final long watchedAt;
+
+        private WatchEvent(int userId, int newsId, long watchedAt) {
+            this.userId = userId;
+            this.newsId = newsId;
+            this.watchedAt = watchedAt;
+        }
+    }
+}
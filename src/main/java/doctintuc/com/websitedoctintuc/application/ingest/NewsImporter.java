@@ -0,0 +1,208 @@
+package doctintuc.com.websitedoctintuc.application.ingest;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
+import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.application.upload.SrcsetValidator;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsImportReport;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsImportResult;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Bulk news ingest. The body is a JSON array or newline delimited JSON of {@link NewsDTO}, read as a
+ * stream and processed in chunks: per chunk one query finds the titles that already exist, categories
+ * come from {@link ReferenceData}, and the valid news are persisted in one transaction, which Hibernate
+ * sends as JDBC batches since news ids are pooled. Every item gets a result in the report, a failing
+ * item never fails the others.
+ */
+@Component
+public class NewsImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsImporter.class);
+
+    private final NewsRepository newsRepository;
+
+    private final ReferenceData referenceData;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader reader;
+
+    private final SrcsetValidator srcsetValidator;
+
+    private final int chunkSize;
+
+    private final int maxItems;
+
+    public NewsImporter(NewsRepository newsRepository, ReferenceData referenceData, EntityManager entityManager,
+                        PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                        SrcsetValidator srcsetValidator,
+                        @Value("${news.import.chunk-size:500}") int chunkSize,
+                        @Value("${news.import.max-items:20000}") int maxItems) {
+        this.newsRepository = newsRepository;
+        this.referenceData = referenceData;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reader = objectMapper.readerFor(NewsDTO.class);
+        this.srcsetValidator = srcsetValidator;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * @param createdNews receives every created news, with its generated id
+     */
+    public NewsImportReport importNews(InputStream body, String createBy, Consumer<News> createdNews) {
+        long start = System.currentTimeMillis();
+        NewsImportReport report = new NewsImportReport();
+        //Titles of the whole request, a title repeated in a later chunk is a duplicate as well
+        Set<String> seenTitles = new HashSet<>();
+        List<NewsDTO> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        try (MappingIterator<NewsDTO> items = reader.readValues(body)) {
+            while (items.hasNextValue()) {
+                if (index == maxItems) {
+                    report.setError(String.format(DevMessageConstant.Common.IMPORT_TOO_LARGE, maxItems));
+                    break;
+                }
+                chunk.add(items.nextValue());
+                index++;
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, index - chunk.size(), createBy, seenTitles, report, createdNews);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            //Malformed item, what was read before it is still imported
+            report.setError(String.format(DevMessageConstant.Common.IMPORT_UNREADABLE, index, e.getMessage()));
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, index - chunk.size(), createBy, seenTitles, report, createdNews);
+        }
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("Imported {} of {} news in {} ms", report.getCreated(), report.getTotal(), report.getElapsedMillis());
+        return report;
+    }
+
+    private void importChunk(List<NewsDTO> chunk, int firstIndex, String createBy, Set<String> seenTitles,
+                             NewsImportReport report, Consumer<News> createdNews) {
+        Set<String> titles = new HashSet<>();
+        for (NewsDTO newsDTO : chunk) {
+            if (StringUtils.hasText(newsDTO.getTitle())) {
+                titles.add(newsDTO.getTitle());
+            }
+        }
+        Set<String> existing = titles.isEmpty() ? Collections.emptySet() : newsRepository.findExistingTitles(titles);
+
+        NewsImportResult[] results = new NewsImportResult[chunk.size()];
+        List<Integer> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            NewsDTO newsDTO = chunk.get(i);
+            String problem = validate(newsDTO);
+            if (problem != null) {
+                results[i] = result(firstIndex + i, newsDTO, NewsImportResult.Status.INVALID, problem);
+            } else if (existing.contains(newsDTO.getTitle()) || !seenTitles.add(newsDTO.getTitle())) {
+                results[i] = result(firstIndex + i, newsDTO, NewsImportResult.Status.DUPLICATE,
+                        String.format(DevMessageConstant.Common.DUPLICATE_NAME, newsDTO.getTitle()));
+            } else {
+                valid.add(i);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            Map<Integer, News> created = new LinkedHashMap<>();
+            for (int i : valid) {
+                created.put(i, toNews(chunk.get(i), createBy));
+            }
+            try {
+                insert(created.values());
+            } catch (RuntimeException e) {
+                //Usually a title inserted concurrently, retry one by one to find the culprit
+                log.warn("Import batch of {} news failed, retry one by one : {}", valid.size(), e.getMessage());
+                created.clear();
+                for (int i : valid) {
+                    News news = toNews(chunk.get(i), createBy);
+                    try {
+                        insert(List.of(news));
+                        created.put(i, news);
+                    } catch (RuntimeException failed) {
+                        results[i] = result(firstIndex + i, chunk.get(i), NewsImportResult.Status.FAILED,
+                                NestedExceptionUtils.getMostSpecificCause(failed).getMessage());
+                    }
+                }
+            }
+            created.forEach((i, news) -> {
+                NewsImportResult result = result(firstIndex + i, chunk.get(i), NewsImportResult.Status.CREATED, null);
+                result.setId(news.getId());
+                results[i] = result;
+                createdNews.accept(news);
+            });
+        }
+        for (NewsImportResult result : results) {
+            report.add(result);
+        }
+    }
+
+    private String validate(NewsDTO newsDTO) {
+        if (!StringUtils.hasText(newsDTO.getTitle())) {
+            return "Title is not blank";
+        }
+        if (!StringUtils.hasText(newsDTO.getContent())) {
+            return "Content is not blank";
+        }
+        if (!StringUtils.hasText(newsDTO.getThumbnail())) {
+            return "Thumbnail is not blank";
+        }
+        if (referenceData.category(newsDTO.getCategoryId()) == null) {
+            return String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
+                    CommonConstant.ClassName.CATEGORY_CLASS_NAME, newsDTO.getCategoryId());
+        }
+        return srcsetValidator.validate(newsDTO.getThumbnailSrcset());
+    }
+
+    private News toNews(NewsDTO newsDTO, String createBy) {
+        News news = new News(newsDTO.getTitle(), newsDTO.getContent(), newsDTO.getAuthor(),
+                newsDTO.getDescription(), newsDTO.getThumbnail());
+        news.setThumbnailSrcset(newsDTO.getThumbnailSrcset());
+        news.setCategory(referenceData.category(newsDTO.getCategoryId()));
+        news.setCreateBy(createBy);
+        news.setLastModifiedBy(createBy);
+        return news;
+    }
+
+    //Pooled ids are assigned on persist, the flush sends the inserts as JDBC batches (hibernate.jdbc.batch_size)
+    private void insert(Collection<News> news) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (News item : news) {
+                entityManager.persist(item);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static NewsImportResult result(int index, NewsDTO newsDTO, NewsImportResult.Status status, String message) {
+        return new NewsImportResult(index, newsDTO.getTitle(), status, null, message);
+    }
+}
@@ -0,0 +1,40 @@
+package doctintuc.com.websitedoctintuc.application.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Request scoped holder for the claims verified by AuthTokenFilter, so the rest of the request
+ * reads the current user without parsing the token again.
+ */
+public final class JwtClaimsHolder {
+
+    private static final String TOKEN_ATTRIBUTE = JwtClaimsHolder.class.getName() + ".TOKEN";
+    private static final String CLAIMS_ATTRIBUTE = JwtClaimsHolder.class.getName() + ".CLAIMS";
+
+    private JwtClaimsHolder() {
+    }
+
+    public static void set(HttpServletRequest request, String token, Claims claims) {
+        request.setAttribute(TOKEN_ATTRIBUTE, token);
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+    }
+
+    /**
+     * Claims of the current request when they were verified from the given token.
+     */
+    public static Claims current(String token) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || token == null) {
+            return null;
+        }
+        Object verifiedToken = attributes.getAttribute(TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!token.equals(verifiedToken)) {
+            return null;
+        }
+        return (Claims) attributes.getAttribute(CLAIMS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
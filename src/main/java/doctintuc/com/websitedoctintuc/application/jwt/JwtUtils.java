@@ -1,13 +1,18 @@
 package doctintuc.com.websitedoctintuc.application.jwt;
 
 
+import doctintuc.com.websitedoctintuc.application.cache.TtlCache;
 import io.jsonwebtoken.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
@@ -20,6 +25,22 @@ public class JwtUtils {
 //    @Value("${jwt.time}")
     private static Long dueTime=6000000L;
 
+    //Whole token -> claims, a token is only HMAC-verified once until it expires or is evicted
+    private final TtlCache<String, Claims> verifiedTokens;
+
+    //verify covers cache hits too, parse is the HMAC check alone
+    private final Timer verifyTimer;
+    private final Timer parseTimer;
+    private final Timer parseFailedTimer;
+
+    public JwtUtils(@Value("${jwt.verified-cache.max-entries:10000}") int maxEntries,
+                    @Value("${jwt.verified-cache.ttl-ms:600000}") long ttlMillis,
+                    MeterRegistry metrics) {
+        this.verifiedTokens = new TtlCache<>("jwt-verified", maxEntries, ttlMillis);
+        this.verifyTimer = metrics.timer("jwt", "operation", "verify");
+        this.parseTimer = metrics.timer("jwt", "operation", "parse", "result", "valid");
+        this.parseFailedTimer = metrics.timer("jwt", "operation", "parse", "result", "invalid");
+    }
 
     public String generateTokenByUsername(String username) {
         return Jwts.builder()
@@ -31,18 +52,46 @@ public class JwtUtils {
     }
 
     public String getUserByToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = JwtClaimsHolder.current(token);
+        if (claims == null) {
+            claims = cachedClaims(token);
+        }
+        if (claims == null) {
+            claims = parse(token);
+        }
         return claims.getSubject();
 
     }
 
     public boolean validationToken(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * Parses and verifies the token, or returns the claims of an earlier verification of the same token.
+     *
+     * @return claims of the token, null when the token is not valid
+     */
+    public Claims verify(String token) {
+        long start = System.nanoTime();
+        try {
+            return verifyUntimed(token);
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return verifiedTokens.stats();
+    }
+
+    private Claims verifyUntimed(String token) {
+        Claims claims = cachedClaims(token);
+        if (claims != null) {
+            return claims;
+        }
         try {
-            Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-            return true;
+            return parse(token);
         } catch (SignatureException exception) {
             log.error("Invalid JWT signature :{}", exception.getMessage());
         } catch (MalformedJwtException exception) {
@@ -54,6 +103,34 @@ public class JwtUtils {
         } catch (IllegalArgumentException exception) {
             log.error("JWT claims is not empty :{}", exception.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    private Claims parse(String token) {
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            Claims claims = Jwts.parser()
+                    .setSigningKey(secretKey)
+                    .parseClaimsJws(token)
+                    .getBody();
+            valid = true;
+            verifiedTokens.put(token, claims);
+            return claims;
+        } finally {
+            (valid ? parseTimer : parseFailedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Claims cachedClaims(String token) {
+        if (token == null) {
+            return null;
+        }
+        Claims claims = verifiedTokens.get(token);
+        if (claims != null && claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
+            verifiedTokens.invalidate(token);
+            return null;
+        }
+        return claims;
     }
 }
@@ -0,0 +1,122 @@
+package doctintuc.com.websitedoctintuc.application.read;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for the anonymous reads served by {@code /api/v2}. The servlet thread hands the read
+ * over and returns to Tomcat right away, so a database latency spike parks requests in this queue
+ * instead of exhausting the connector threads. Once the queue is full new reads are rejected with
+ * {@link RejectedExecutionException} so callers can shed load instead of piling up.
+ * <p>
+ * In virtual thread mode (see {@code VirtualThreadConfig}) each read runs on the shared virtual
+ * thread executor instead and waits for a connection in the Hikari pool; the same limit of
+ * {@code threads + queue-capacity} reads in flight still applies, beyond it reads are rejected.
+ */
+@Component
+public class NewsReadExecutor {
+
+    //Null in virtual thread mode
+    private final ThreadPoolExecutor executor;
+
+    //Null with platform threads
+    private final ExecutorService virtualThreadExecutor;
+
+    private final Semaphore inFlight;
+
+    private final int maxInFlight;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    public NewsReadExecutor(@Value("${news.read-executor.threads:10}") int threads,
+                            @Value("${news.read-executor.queue-capacity:2000}") int queueCapacity,
+                            @Qualifier("virtualThreadExecutor") @Nullable ExecutorService virtualThreadExecutor) {
+        this.maxInFlight = threads + queueCapacity;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+        if (virtualThreadExecutor != null) {
+            this.executor = null;
+            this.inFlight = new Semaphore(maxInFlight);
+            return;
+        }
+        this.inFlight = null;
+        AtomicInteger created = new AtomicInteger();
+        //No point in more threads than the Hikari pool has connections
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "news-read-" + created.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("News read queue is full");
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> reader) {
+        if (virtualThreadExecutor == null) {
+            return CompletableFuture.supplyAsync(reader, executor);
+        }
+        if (!inFlight.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Too many news reads in flight");
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return reader.get();
+                } finally {
+                    inFlight.release();
+                    completed.incrementAndGet();
+                }
+            }, virtualThreadExecutor);
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    //The virtual thread executor is a shared bean, it is shut down by the context
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (executor == null) {
+            stats.put("mode", "virtual-threads");
+            stats.put("inFlight", maxInFlight - inFlight.availablePermits());
+            stats.put("maxInFlight", maxInFlight);
+            stats.put("completed", completed.get());
+            stats.put("rejected", rejected.get());
+            return stats;
+        }
+        stats.put("mode", "platform-threads");
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("maxPoolSize", executor.getMaximumPoolSize());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueRemaining", executor.getQueue().remainingCapacity());
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+}
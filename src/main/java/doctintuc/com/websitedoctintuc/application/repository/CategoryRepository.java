@@ -1,10 +1,26 @@
 package doctintuc.com.websitedoctintuc.application.repository;
 
+import doctintuc.com.websitedoctintuc.domain.dto.TableVersion;
 import doctintuc.com.websitedoctintuc.domain.entity.Category;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
     Boolean existsByCategoryName(String categoryName);
+
+    @Query("SELECT c FROM Category c ORDER BY c.createDate DESC, c.id DESC")
+    List<Category> findLatest(Pageable pageable);
+
+    @Query("SELECT c FROM Category c WHERE c.createDate < ?1 OR (c.createDate = ?1 AND c.id < ?2) " +
+            "ORDER BY c.createDate DESC, c.id DESC")
+    List<Category> findLatestBefore(Date createDate, Integer id, Pageable pageable);
+
+    @Query("SELECT COUNT(c) AS rows, MAX(c.updateDate) AS lastModified FROM Category c")
+    TableVersion findTableVersion();
 }
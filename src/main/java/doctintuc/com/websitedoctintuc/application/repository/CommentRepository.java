@@ -1,9 +1,36 @@
 package doctintuc.com.websitedoctintuc.application.repository;
 
+import doctintuc.com.websitedoctintuc.domain.dto.CommentView;
 import doctintuc.com.websitedoctintuc.domain.entity.Comment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
+
+    String SELECT_VIEW = "SELECT new doctintuc.com.websitedoctintuc.domain.dto.CommentView(" +
+            "c.id, c.content, c.image, u.id, u.fullName, u.avatar, c.createDate) FROM Comment c JOIN c.user u ";
+
+    //The author of each comment is joined in, not loaded one select per comment
+    @EntityGraph(attributePaths = {"user", "user.role"})
+    Page<Comment> findByNewsId(Integer newsId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "user.role"})
+    Page<Comment> findByUserId(Integer userId, Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE c.news.id = ?1 ORDER BY c.createDate DESC, c.id DESC")
+    List<CommentView> findLatestViews(Integer newsId, Pageable pageable);
+
+    @Query(SELECT_VIEW + "WHERE c.news.id = ?1 AND (c.createDate < ?2 OR (c.createDate = ?2 AND c.id < ?3)) " +
+            "ORDER BY c.createDate DESC, c.id DESC")
+    List<CommentView> findLatestViewsBefore(Integer newsId, Date createDate, Integer id, Pageable pageable);
+
+    long countByNewsId(Integer newsId);
 }
@@ -1,28 +1,64 @@
 package doctintuc.com.websitedoctintuc.application.repository;
 
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
 import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface NewsRepository extends JpaRepository<News, Integer> {
+public interface NewsRepository extends JpaRepository<News, Integer>, JpaSpecificationExecutor<News>, NewsSummaryRepository {
+
+    String SUMMARY_COLUMNS = "SELECT new doctintuc.com.websitedoctintuc.domain.dto.NewsSummary(" +
+            "n.id, n.title, n.description, n.thumbnail, n.thumbnailSrcset, n.author, n.view, c.id, c.categoryName, n.createDate) ";
+
+    String SELECT_SUMMARY = SUMMARY_COLUMNS + "FROM News n LEFT JOIN n.category c ";
+
     Boolean existsByTitle(String title);
 
-    @Query(value = "SELECT  u.id , u.title , u.description , u.thumbnail FROM news u ORDER BY u.view DESC LIMIT 5", nativeQuery = true)
-    List<News> favoriteNews();
+    @Query("SELECT n.title FROM News n WHERE n.title IN ?1")
+    Set<String> findExistingTitles(Collection<String> titles);
+
+    @Query("SELECT n.id FROM News n WHERE n.category.id = ?1")
+    List<Integer> findIdsByCategoryId(Integer categoryId);
+
+    default List<NewsSummary> favoriteNews() {
+        return findSummaries(PageRequest.of(0, 5, Sort.by("view").descending()));
+    }
+
+    default List<NewsSummary> leastNews() {
+        return findSummaries(PageRequest.of(0, 7, Sort.by("createDate").descending()));
+    }
+
+    @Query(SELECT_SUMMARY)
+    List<NewsSummary> findSummaries(Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "ORDER BY n.createDate DESC, n.id DESC")
+    List<NewsSummary> findLatestSummaries(Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "WHERE n.createDate < ?1 OR (n.createDate = ?1 AND n.id < ?2) " +
+            "ORDER BY n.createDate DESC, n.id DESC")
+    List<NewsSummary> findLatestSummariesBefore(Date createDate, Integer id, Pageable pageable);
 
-    @Query(value = "SELECT u.id , u.title , u.description , u.thumbnail FROM news u ORDER BY u.create_date DESC LIMIT 7", nativeQuery = true)
-    List<News> leastNews();
+    @Query(SELECT_SUMMARY + "WHERE n.id IN ?1")
+    List<NewsSummary> findSummariesByIdIn(Collection<Integer> ids);
 
-    @Query(value = "SELECT * FROM news u WHERE u.category_id = ?1 or u.title = ?2 or u.author LIKE ?3", nativeQuery = true)
-    List<News> filterNewsByCategory(Integer categoryId, String title, String author, Pageable pageable);
+    @Query(SELECT_SUMMARY + "WHERE UPPER(n.title) LIKE :key OR UPPER(n.description) LIKE :key")
+    List<NewsSummary> searchNewsByKey(String key, Pageable pageable);
 
-    @Query(value = "SELECT * FROM news u  WHERE u.title LIKE :key OR u.description LIKE :key", nativeQuery = true)
-    List<News> searchNewsByKey(String key, Pageable pageable);
+    @Query("SELECT n.updateDate FROM News n WHERE n.id = ?1")
+    Optional<Timestamp> findUpdateDateById(Integer id);
 
     @Query(value = "SELECT COUNT(*) FROM news", nativeQuery = true)
     Integer countRecordNews();
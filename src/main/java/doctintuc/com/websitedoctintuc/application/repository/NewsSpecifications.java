@@ -0,0 +1,63 @@
+package doctintuc.com.websitedoctintuc.application.repository;
+
+import doctintuc.com.websitedoctintuc.domain.dto.NewsFilter;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composable predicates on news. Category and create date come first so MySQL can range scan
+ * idx_news_category_id_create_date.
+ */
+public final class NewsSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private NewsSpecifications() {
+    }
+
+    public static Specification<News> of(NewsFilter filter) {
+        Specification<News> specification = Specification.where(inCategory(filter.getCategoryId()));
+        if (filter.getFromDate() != null) {
+            specification = specification.and(createdFrom(filter.getFromDate()));
+        }
+        if (filter.getToDate() != null) {
+            specification = specification.and(createdBefore(new Date(filter.getToDate().getTime() + TimeUnit.DAYS.toMillis(1))));
+        }
+        if (StringUtils.hasText(filter.getAuthor())) {
+            specification = specification.and(authorStartsWith(filter.getAuthor().trim()));
+        }
+        if (StringUtils.hasText(filter.getTitle())) {
+            specification = specification.and(titleContains(filter.getTitle().trim()));
+        }
+        return specification;
+    }
+
+    public static Specification<News> inCategory(Integer categoryId) {
+        return (root, query, cb) -> categoryId == null ? null : cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<News> createdFrom(Date from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createDate"), from);
+    }
+
+    public static Specification<News> createdBefore(Date before) {
+        return (root, query, cb) -> cb.lessThan(root.get("createDate"), before);
+    }
+
+    public static Specification<News> authorStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("author"), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+
+    public static Specification<News> titleContains(String title) {
+        return (root, query, cb) -> cb.like(cb.upper(root.get("title")),
+                "%" + escapeLike(title.toUpperCase()) + "%", LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
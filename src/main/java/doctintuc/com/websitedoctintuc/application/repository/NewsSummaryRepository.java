@@ -0,0 +1,16 @@
+package doctintuc.com.websitedoctintuc.application.repository;
+
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Fragment of NewsRepository for NewsSummary projections filtered by a {@link Specification}.
+ */
+public interface NewsSummaryRepository {
+
+    List<NewsSummary> filterSummaries(Specification<News> specification, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package doctintuc.com.websitedoctintuc.application.repository;
+
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
+import doctintuc.com.websitedoctintuc.domain.entity.Category;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.util.List;
+
+public class NewsSummaryRepositoryImpl implements NewsSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<NewsSummary> filterSummaries(Specification<News> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<NewsSummary> query = cb.createQuery(NewsSummary.class);
+        Root<News> root = query.from(News.class);
+        Join<News, Category> category = root.join("category", JoinType.LEFT);
+        query.select(cb.construct(NewsSummary.class,
+                root.get("id"), root.get("title"), root.get("description"), root.get("thumbnail"),
+                root.get("thumbnailSrcset"), root.get("author"), root.get("view"), category.get("id"), category.get("categoryName"),
+                root.get("createDate")));
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        TypedQuery<NewsSummary> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+}
@@ -1,9 +1,21 @@
 package doctintuc.com.websitedoctintuc.application.repository;
 
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
 import doctintuc.com.websitedoctintuc.domain.entity.UserNews;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserNewsRepository extends JpaRepository<UserNews , Integer> {
+
+    //Most recently watched first, served by idx_usernews_user_id_watched_at
+    @Query(NewsRepository.SUMMARY_COLUMNS + "FROM UserNews un JOIN un.news n LEFT JOIN n.category c " +
+            "WHERE un.ratingKey.userId = ?1 ORDER BY un.watchedAt DESC, n.id DESC")
+    List<NewsSummary> findWatchedSummaries(int userId, Pageable pageable);
+
+    long countByRatingKeyUserId(int userId);
 }
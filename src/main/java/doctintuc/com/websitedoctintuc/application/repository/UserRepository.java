@@ -1,13 +1,40 @@
 package doctintuc.com.websitedoctintuc.application.repository;
 
 import doctintuc.com.websitedoctintuc.domain.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     Boolean existsByUsername(String email);
 
+    //Role with the user in one statement, every authenticated request resolves the user
+    @EntityGraph(attributePaths = "role")
     User findByUsername(String username);
+
+    //For deletes, the comments are removed with the user
+    @EntityGraph(attributePaths = "comments")
+    Optional<User> findWithCommentsById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "role")
+    Page<User> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "role")
+    @Query("SELECT u FROM User u ORDER BY u.createDate DESC, u.id DESC")
+    List<User> findLatest(Pageable pageable);
+
+    @EntityGraph(attributePaths = "role")
+    @Query("SELECT u FROM User u WHERE u.createDate < ?1 OR (u.createDate = ?1 AND u.id < ?2) " +
+            "ORDER BY u.createDate DESC, u.id DESC")
+    List<User> findLatestBefore(Date createDate, Integer id, Pageable pageable);
 }
@@ -0,0 +1,274 @@
+package doctintuc.com.websitedoctintuc.application.search;
+
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over news title, description and content.
+ * Built from the news table once the application is ready and kept up to date by NewsServiceImpl.
+ */
+@Component
+public class NewsSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NewsSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 2f;
+    private static final float CONTENT_WEIGHT = 1f;
+    private static final float BIGRAM_BOOST = 1.5f;
+    private static final float PREFIX_BOOST = 0.5f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int REBUILD_PAGE_SIZE = 200;
+
+    private final NewsRepository newsRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //term -> (news id -> field weighted term frequency), replaced as a whole by rebuild
+    private TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+
+    private Map<Integer, Set<String>> documentTerms = new HashMap<>();
+
+    //Changes made while a rebuild loads, replayed on the new index before it is swapped in; null value means removed
+    private Map<Integer, Map<String, Float>> changesDuringRebuild;
+
+    private volatile boolean ready;
+
+    public NewsSearchIndex(NewsRepository newsRepository) {
+        this.newsRepository = newsRepository;
+    }
+
+    /**
+     * Loads the whole table into a new index without the lock, searches keep using the current one
+     * until the new index is swapped in. A failed load leaves the current index as it was.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TreeMap<String, Map<Integer, Float>> newPostings = new TreeMap<>();
+        Map<Integer, Set<String>> newDocumentTerms = new HashMap<>();
+        try {
+            Page<News> page = newsRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+            while (true) {
+                for (News news : page.getContent()) {
+                    add(newPostings, newDocumentTerms, news.getId(), analyze(news));
+                }
+                if (!page.hasNext()) {
+                    break;
+                }
+                page = newsRepository.findAll(page.nextPageable());
+            }
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Build news search index failed, search falls back to database : {}", e.getMessage());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Integer, Map<String, Float>> change : changesDuringRebuild.entrySet()) {
+                remove(newPostings, newDocumentTerms, change.getKey());
+                if (change.getValue() != null) {
+                    add(newPostings, newDocumentTerms, change.getKey(), change.getValue());
+                }
+            }
+            changesDuringRebuild = null;
+            postings = newPostings;
+            documentTerms = newDocumentTerms;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("News search index built with {} news and {} terms in {} ms",
+                newDocumentTerms.size(), newPostings.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(News news) {
+        Map<String, Float> terms = analyze(news);
+        lock.writeLock().lock();
+        try {
+            remove(postings, documentTerms, news.getId());
+            add(postings, documentTerms, news.getId(), terms);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(news.getId(), terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int newsId) {
+        lock.writeLock().lock();
+        try {
+            remove(postings, documentTerms, newsId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(newsId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks news by the number of query syllables they match, then by tf-idf score.
+     * The last syllable also matches as a prefix so partially typed keys still hit.
+     */
+    public SearchHits search(String key, int page, int size) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(VietnameseAnalyzer.tokenize(key)));
+        if (tokens.isEmpty()) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+        Map<Integer, Hit> hits = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = Math.max(documentTerms.size(), 1);
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                Map<Integer, Float> exact = postings.get(token);
+                Set<Integer> matched = new HashSet<>();
+                if (exact != null) {
+                    score(hits, exact, documentCount, 1f, matched);
+                }
+                if (i == tokens.size() - 1 && token.length() >= MIN_PREFIX_LENGTH) {
+                    for (Map.Entry<String, Map<Integer, Float>> entry
+                            : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                        if (entry.getKey().indexOf(VietnameseAnalyzer.BIGRAM_SEPARATOR) < 0) {
+                            score(hits, entry.getValue(), documentCount, PREFIX_BOOST, matched);
+                        }
+                    }
+                }
+                for (Integer newsId : matched) {
+                    hits.get(newsId).matchedTokens++;
+                }
+                if (i > 0) {
+                    Map<Integer, Float> bigram = postings.get(VietnameseAnalyzer.bigram(tokens.get(i - 1), token));
+                    if (bigram != null) {
+                        score(hits, bigram, documentCount, BIGRAM_BOOST, null);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> ranked = new ArrayList<>(hits.values());
+        ranked.sort(Comparator.comparingInt((Hit hit) -> hit.matchedTokens).reversed()
+                .thenComparing(Comparator.comparingDouble((Hit hit) -> hit.score).reversed())
+                .thenComparing(Comparator.comparingInt((Hit hit) -> hit.newsId).reversed()));
+        int from = Math.min(page * size, ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        List<Integer> ids = new ArrayList<>(to - from);
+        for (Hit hit : ranked.subList(from, to)) {
+            ids.add(hit.newsId);
+        }
+        return new SearchHits(ids, ranked.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void score(Map<Integer, Hit> hits, Map<Integer, Float> documents, int documentCount,
+                       float boost, Set<Integer> matched) {
+        double idf = Math.log(1 + (double) documentCount / documents.size());
+        for (Map.Entry<Integer, Float> posting : documents.entrySet()) {
+            Hit hit = hits.computeIfAbsent(posting.getKey(), Hit::new);
+            hit.score += boost * idf * (1 + Math.log(posting.getValue()));
+            if (matched != null) {
+                matched.add(posting.getKey());
+            }
+        }
+    }
+
+    private static void add(TreeMap<String, Map<Integer, Float>> postings, Map<Integer, Set<String>> documentTerms,
+                            int newsId, Map<String, Float> terms) {
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(newsId, term.getValue());
+        }
+        documentTerms.put(newsId, new HashSet<>(terms.keySet()));
+    }
+
+    private static void remove(TreeMap<String, Map<Integer, Float>> postings, Map<Integer, Set<String>> documentTerms,
+                               int newsId) {
+        Set<String> terms = documentTerms.remove(newsId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Float> documents = postings.get(term);
+            if (documents != null) {
+                documents.remove(newsId);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Float> analyze(News news) {
+        Map<String, Float> terms = new HashMap<>();
+        analyzeField(terms, news.getTitle(), TITLE_WEIGHT);
+        analyzeField(terms, news.getDescription(), DESCRIPTION_WEIGHT);
+        analyzeField(terms, news.getContent(), CONTENT_WEIGHT);
+        return terms;
+    }
+
+    private static void analyzeField(Map<String, Float> terms, String text, float weight) {
+        String previous = null;
+        for (String token : VietnameseAnalyzer.tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+            if (previous != null) {
+                terms.merge(VietnameseAnalyzer.bigram(previous, token), weight, Float::sum);
+            }
+            previous = token;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchHits {
+        private List<Integer> ids;
+        private int total;
+    }
+
+    private static final class Hit {
+        private final int newsId;
+        private double score;
+        private int matchedTokens;
+
+        private Hit(int newsId) {
+            this.newsId = newsId;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package doctintuc.com.websitedoctintuc.application.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lower case syllables with Vietnamese diacritics folded away,
+ * so "Tin tức Đà Nẵng" and "tin tuc da nang" produce the same tokens.
+ */
+public final class VietnameseAnalyzer {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern COMBINING_MARK = Pattern.compile("\\p{M}+");
+
+    /**
+     * Separator used for syllable bigrams, Vietnamese words are mostly two syllables ("tin tức").
+     */
+    public static final char BIGRAM_SEPARATOR = '_';
+
+    private VietnameseAnalyzer() {
+    }
+
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = COMBINING_MARK.matcher(decomposed).replaceAll("");
+        return folded.replace('đ', 'd').replace('Đ', 'D').toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = fold(HTML_TAG.matcher(text).replaceAll(" "));
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(folded.substring(start));
+        }
+        return tokens;
+    }
+
+    public static String bigram(String first, String second) {
+        return first + BIGRAM_SEPARATOR + second;
+    }
+}
@@ -1,8 +1,10 @@
 package doctintuc.com.websitedoctintuc.application.service;
 
 import doctintuc.com.websitedoctintuc.domain.dto.CategoryDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.TableVersion;
 import doctintuc.com.websitedoctintuc.domain.entity.Category;
 import doctintuc.com.websitedoctintuc.domain.entity.User;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
 import doctintuc.com.websitedoctintuc.domain.pagine.PaginateDTO;
 
 import javax.servlet.http.HttpServletRequest;
@@ -12,8 +14,10 @@ public interface ICategoryService {
     Category create(CategoryDTO categoryDTO , HttpServletRequest request);
     Category getCategory(Integer id);
     PaginateDTO<Category> searchPageCategory(Integer page, Integer size);
+    CursorPageDTO<Category> scrollCategory(String cursor, Integer size);
     Category update(Integer id, CategoryDTO categoryDTO , HttpServletRequest request);
     String delete(Integer id);
     List<Category> searchAllCategory();
+    TableVersion categoryVersion();
 
 }
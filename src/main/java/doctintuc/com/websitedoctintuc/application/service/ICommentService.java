@@ -0,0 +1,23 @@
+package doctintuc.com.websitedoctintuc.application.service;
+
+import doctintuc.com.websitedoctintuc.domain.dto.CommentDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.CommentView;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
+
+import javax.servlet.http.HttpServletRequest;
+
+public interface ICommentService {
+
+    /**
+     * The comment is written asynchronously, the returned view has no id yet.
+     *
+     * @return null when the write buffer is full and the comment was rejected
+     */
+    CommentView post(Integer newsId, CommentDTO commentDTO, HttpServletRequest request);
+
+    CursorPageDTO<CommentView> scrollComments(Integer newsId, String cursor, Integer size);
+
+    long countComments(Integer newsId);
+
+    String delete(Integer id, HttpServletRequest request);
+}
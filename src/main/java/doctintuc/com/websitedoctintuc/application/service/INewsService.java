@@ -2,40 +2,61 @@ package doctintuc.com.websitedoctintuc.application.service;
 
 import doctintuc.com.websitedoctintuc.domain.dto.CustomNewDTO;
 import doctintuc.com.websitedoctintuc.domain.dto.NewsDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsFilter;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsImportReport;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
 import doctintuc.com.websitedoctintuc.domain.entity.News;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
 import doctintuc.com.websitedoctintuc.domain.pagine.PaginateDTO;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
 import java.util.List;
 
 public interface INewsService {
     News create(NewsDTO newsDTO, HttpServletRequest request);
 
+    NewsImportReport importNews(InputStream body, HttpServletRequest request);
+
     News get(Integer id);
 
+    /**
+     * @return null when the news does not exist or was never stamped
+     */
+    Date getLastModified(Integer id);
+
     News update(int newsId , NewsDTO newsDTO, HttpServletRequest request);
 
-    PaginateDTO<News> searchAll(Integer page, Integer size);
+    PaginateDTO<NewsSummary> searchAll(Integer page, Integer size);
+
+    long searAllNotPaginate(OutputStream outputStream) throws IOException;
 
-    List<News> searAllNotPaginate();
+    long exportNews(Integer afterId, OutputStream outputStream) throws IOException;
 
     String delete(Integer id);
 
-    List<News> getFavoriteNews();
+    List<NewsSummary> getFavoriteNews();
+
+    List<NewsSummary> getTrendingNews(Integer categoryId, Integer size);
+
+    List<NewsSummary> getLeastNews();
 
-    List<News> getLeastNews();
+    PaginateDTO<NewsSummary> paginateHomePage(Integer page, Integer size);
 
-    PaginateDTO<News> paginateHomePage(Integer page, Integer size);
+    CursorPageDTO<NewsSummary> scrollHomePage(String cursor, Integer size);
 
     News setView(Integer id);
 
-    CustomNewDTO filterNewsByCategory(Integer page, Integer size, String author, String title, Integer categoryId, String filter);
+    CustomNewDTO filterNewsByCategory(Integer page, Integer size, NewsFilter newsFilter);
 
-    PaginateDTO<News> searchNews(Integer page, Integer size, String key);
+    PaginateDTO<NewsSummary> searchNews(Integer page, Integer size, String key);
 
     Integer countRecordNews();
 
     News saveNewsWatched(int newsId, HttpServletRequest request);
 
-    List<News> getAllNewWatched(HttpServletRequest request);
+    PaginateDTO<NewsSummary> getAllNewWatched(Integer page, Integer size, HttpServletRequest request);
 }
@@ -4,6 +4,7 @@ import doctintuc.com.websitedoctintuc.application.request.LoginRequest;
 import doctintuc.com.websitedoctintuc.application.response.UserResponse;
 import doctintuc.com.websitedoctintuc.domain.dto.UserDTO;
 import doctintuc.com.websitedoctintuc.domain.entity.User;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
 import doctintuc.com.websitedoctintuc.domain.pagine.PaginateDTO;
 import io.swagger.models.auth.In;
 import org.springframework.security.core.Authentication;
@@ -23,6 +24,8 @@ public interface IUserService {
 
     PaginateDTO<User> searchAll(Integer page, Integer size);
 
+    CursorPageDTO<User> scrollAll(String cursor, Integer size);
+
     UserResponse login(LoginRequest loginRequest);
 
     String logout(Authentication authentication, HttpServletRequest request, HttpServletResponse response);
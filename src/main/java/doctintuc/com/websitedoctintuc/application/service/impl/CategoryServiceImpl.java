@@ -1,21 +1,30 @@
 package doctintuc.com.websitedoctintuc.application.service.impl;
 
+import doctintuc.com.websitedoctintuc.application.cache.NewsReadCache;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
 import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
 import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
 import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
 import doctintuc.com.websitedoctintuc.application.repository.CategoryRepository;
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
 import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
+import doctintuc.com.websitedoctintuc.application.search.NewsSearchIndex;
 import doctintuc.com.websitedoctintuc.application.service.ICategoryService;
+import doctintuc.com.websitedoctintuc.application.trending.TrendingRanking;
 import doctintuc.com.websitedoctintuc.config.exception.VsException;
 import doctintuc.com.websitedoctintuc.domain.dto.CategoryDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.TableVersion;
 import doctintuc.com.websitedoctintuc.domain.entity.Category;
 import doctintuc.com.websitedoctintuc.domain.entity.User;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
+import doctintuc.com.websitedoctintuc.domain.pagine.PageCursor;
 import doctintuc.com.websitedoctintuc.domain.pagine.PaginateDTO;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
@@ -30,6 +39,12 @@ public class CategoryServiceImpl implements ICategoryService {
 
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
+    private final ReferenceData referenceData;
+    private final NewsRepository newsRepository;
+    private final NewsReadCache newsReadCache;
+    private final NewsSearchIndex searchIndex;
+    private final TrendingRanking trendingRanking;
+
     @Override
     public Category create(CategoryDTO categoryDTO , HttpServletRequest request) {
         if (repository.existsByCategoryName(categoryDTO.getCategoryName())) {
@@ -41,15 +56,18 @@ public class CategoryServiceImpl implements ICategoryService {
         Category category = modelMapper.map(categoryDTO, Category.class);
         category.setCreateBy(user.getFullName());
         category.setLastModifiedBy(user.getFullName());
-        return repository.save(category);
+        Category saved = repository.save(category);
+        referenceData.reload();
+        return saved;
     }
 
     @Override
     public Category getCategory(Integer id) {
-        if (!repository.existsById(id)) {
+        Category category = referenceData.category(id);
+        if (category == null) {
             throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID, CommonConstant.ClassName.CATEGORY_CLASS_NAME, id));
         }
-        return repository.findById(id).get();
+        return category;
     }
 
     @Override
@@ -59,6 +77,20 @@ public class CategoryServiceImpl implements ICategoryService {
                 .descending())).getContent(), page, totalPage);
     }
 
+    @Override
+    public CursorPageDTO<Category> scrollCategory(String cursor, Integer size) {
+        CursorPageDTO.checkSize(size);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Category> rows;
+        if (StringUtils.hasText(cursor)) {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            rows = repository.findLatestBefore(pageCursor.getCreateDate(), pageCursor.getId(), limit);
+        } else {
+            rows = repository.findLatest(limit);
+        }
+        return CursorPageDTO.of(rows, size, Category::getCreateDate, Category::getId);
+    }
+
     @Override
     public Category update(Integer id, CategoryDTO categoryDTO , HttpServletRequest request) {
 
@@ -75,7 +107,9 @@ public class CategoryServiceImpl implements ICategoryService {
                 category.get().setId(id);
                 category.get().setCreateBy(found_category.get().getCreateBy());
                 category.get().setLastModifiedBy(user.getFullName());
-                return repository.save(category.get());
+                Category saved = repository.save(category.get());
+                referenceData.reload();
+                return saved;
             } else {
                 throw new VsException(String.format(DevMessageConstant.Common.EXITS_USERNAME, categoryDTO.getCategoryName()));
             }
@@ -89,13 +123,26 @@ public class CategoryServiceImpl implements ICategoryService {
         if (!repository.existsById(id)) {
             throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID, CommonConstant.ClassName.CATEGORY_CLASS_NAME, id));
         }
+        //The news of the category are deleted with it by the cascade, drop them from the in-memory views too
+        List<Integer> newsIds = newsRepository.findIdsByCategoryId(id);
         repository.deleteById(id);
+        referenceData.reload();
+        newsReadCache.invalidateAll();
+        for (Integer newsId : newsIds) {
+            searchIndex.remove(newsId);
+            trendingRanking.remove(newsId);
+        }
         return DevMessageConstant.Common.NOTIFICATION_DELETE_SUCCESS;
     }
 
     @Override
     public List<Category> searchAllCategory() {
-        return repository.findAll(Sort.by(CommonConstant.SORT_BY_TIME2).ascending());
+        return referenceData.categories();
+    }
+
+    @Override
+    public TableVersion categoryVersion() {
+        return referenceData.categoryVersion();
     }
 
 }
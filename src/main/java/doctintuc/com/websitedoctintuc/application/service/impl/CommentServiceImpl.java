@@ -0,0 +1,128 @@
+package doctintuc.com.websitedoctintuc.application.service.impl;
+
+import doctintuc.com.websitedoctintuc.application.cache.CommentThreadCache;
+import doctintuc.com.websitedoctintuc.application.cache.PrincipalCache;
+import doctintuc.com.websitedoctintuc.application.comment.CommentWriter;
+import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
+import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
+import doctintuc.com.websitedoctintuc.application.repository.CommentRepository;
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
+import doctintuc.com.websitedoctintuc.application.service.ICommentService;
+import doctintuc.com.websitedoctintuc.config.exception.VsException;
+import doctintuc.com.websitedoctintuc.domain.dto.CommentDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.CommentView;
+import doctintuc.com.websitedoctintuc.domain.entity.Comment;
+import doctintuc.com.websitedoctintuc.domain.entity.User;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
+import doctintuc.com.websitedoctintuc.domain.pagine.PageCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Date;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class CommentServiceImpl implements ICommentService {
+
+    //Length of the content column
+    static final int MAX_CONTENT_LENGTH = 255;
+
+    private final CommentRepository commentRepository;
+    private final NewsRepository newsRepository;
+    private final UserRepository userRepository;
+    private final JwtUtils jwtUtils;
+    private final PrincipalCache principalCache;
+    private final CommentWriter commentWriter;
+    private final CommentThreadCache threadCache;
+
+    @Override
+    public CommentView post(Integer newsId, CommentDTO commentDTO, HttpServletRequest request) {
+        String content = commentDTO.getComment();
+        if (!StringUtils.hasText(content)) {
+            throw new VsException(DevMessageConstant.Common.COMMENT_IS_BLANK);
+        }
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            throw new VsException(String.format(DevMessageConstant.Common.COMMENT_TOO_LONG, MAX_CONTENT_LENGTH));
+        }
+        //Also checks that the news exists, a hot article only pays for it once per cache TTL
+        threadCache.count(newsId, this::loadCount);
+        String username = jwtUtils.getUserByToken(request.getHeader("Authorization").substring(7));
+        Integer userId = currentUserId(username);
+        if (userId == null) {
+            throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
+                    CommonConstant.ClassName.USER_CLASS_NAME, username));
+        }
+        if (!commentWriter.enqueue(userId, newsId, content, commentDTO.getImage(), username)) {
+            return null;
+        }
+        return new CommentView(null, content, commentDTO.getImage(), userId, null, null, new Date());
+    }
+
+    @Override
+    public CursorPageDTO<CommentView> scrollComments(Integer newsId, String cursor, Integer size) {
+        CursorPageDTO.checkSize(size);
+        if (StringUtils.hasText(cursor)) {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            List<CommentView> rows = commentRepository.findLatestViewsBefore(newsId,
+                    pageCursor.getCreateDate(), pageCursor.getId(), PageRequest.of(0, size + 1));
+            return CursorPageDTO.of(rows, size, CommentView::getCreateDate, CommentView::getId);
+        }
+        return threadCache.firstPage(newsId, size, id -> CursorPageDTO.of(
+                commentRepository.findLatestViews(id, PageRequest.of(0, size + 1)),
+                size, CommentView::getCreateDate, CommentView::getId));
+    }
+
+    @Override
+    public long countComments(Integer newsId) {
+        return threadCache.count(newsId, this::loadCount);
+    }
+
+    @Override
+    public String delete(Integer id, HttpServletRequest request) {
+        Comment comment = commentRepository.findById(id).orElseThrow(() -> new VsException(String.format(
+                DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID, CommonConstant.ClassName.COMMENT_CLASS_NAME, id)));
+        Integer userId = currentUserId(jwtUtils.getUserByToken(request.getHeader("Authorization").substring(7)));
+        //The author or an admin
+        if (!comment.getUser().getId().equals(userId) && !isAdmin()) {
+            throw new VsException(DevMessageConstant.Common.AUTHORIZED);
+        }
+        //The id of the lazy news is read from the proxy, the news is not loaded
+        Integer newsId = comment.getNews().getId();
+        commentRepository.delete(comment);
+        threadCache.invalidate(newsId);
+        return DevMessageConstant.Common.NOTIFICATION_DELETE_SUCCESS;
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(authority -> authority.equals(EnumRole.ROLE_ADMIN.name())
+                        || authority.equals(EnumRole.ROLE_SUPER_ADMIN.name()));
+    }
+
+    private Long loadCount(Integer newsId) {
+        if (!newsRepository.existsById(newsId)) {
+            throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
+                    CommonConstant.ClassName.NEWS_CLASS_NAME, newsId));
+        }
+        return commentRepository.countByNewsId(newsId);
+    }
+
+    private Integer currentUserId(String username) {
+        return principalCache.userId(username, key -> {
+            User user = userRepository.findByUsername(key);
+            return user == null ? null : user.getId();
+        });
+    }
+}
@@ -1,29 +1,48 @@
 package doctintuc.com.websitedoctintuc.application.service.impl;
 
+import doctintuc.com.websitedoctintuc.application.cache.NewsReadCache;
+import doctintuc.com.websitedoctintuc.application.cache.PrincipalCache;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
 import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
 import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
 import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
+import doctintuc.com.websitedoctintuc.application.counter.NewsViewCounter;
+import doctintuc.com.websitedoctintuc.application.export.NewsExporter;
+import doctintuc.com.websitedoctintuc.application.history.WatchHistoryWriter;
+import doctintuc.com.websitedoctintuc.application.ingest.NewsImporter;
 import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
-import doctintuc.com.websitedoctintuc.application.repository.CategoryRepository;
 import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.application.repository.NewsSpecifications;
 import doctintuc.com.websitedoctintuc.application.repository.UserNewsRepository;
 import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
+import doctintuc.com.websitedoctintuc.application.search.NewsSearchIndex;
 import doctintuc.com.websitedoctintuc.application.service.INewsService;
+import doctintuc.com.websitedoctintuc.application.trending.TrendingRanking;
+import doctintuc.com.websitedoctintuc.application.upload.SrcsetValidator;
 import doctintuc.com.websitedoctintuc.config.exception.VsException;
 import doctintuc.com.websitedoctintuc.domain.dto.CustomNewDTO;
 import doctintuc.com.websitedoctintuc.domain.dto.NewsDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsFilter;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsImportReport;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
 import doctintuc.com.websitedoctintuc.domain.entity.*;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
+import doctintuc.com.websitedoctintuc.domain.pagine.PageCursor;
 import doctintuc.com.websitedoctintuc.domain.pagine.PaginateDTO;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
 
 @Service
@@ -32,21 +51,31 @@ public class NewsServiceImpl implements INewsService {
 
     private final static Logger logger = LoggerFactory.getLogger(NewsServiceImpl.class);
     private final NewsRepository newsRepository;
-    private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
     private final UserNewsRepository userNewsRepository;
+    private final NewsViewCounter viewCounter;
+    private final NewsReadCache newsReadCache;
+    private final NewsSearchIndex searchIndex;
+    private final WatchHistoryWriter watchHistoryWriter;
+    private final PrincipalCache principalCache;
+    private final TrendingRanking trendingRanking;
+    private final NewsExporter newsExporter;
+    private final ReferenceData referenceData;
+    private final NewsImporter newsImporter;
+    private final SrcsetValidator srcsetValidator;
 
     @Override
     public News create(NewsDTO newsDTO, HttpServletRequest request) {
         if (newsRepository.existsByTitle(newsDTO.getTitle())) {
             throw new VsException(DevMessageConstant.Common.DUPLICATE_NAME, newsDTO.getTitle());
         }
-        Optional<Category> category = categoryRepository.findById(newsDTO.getCategoryId());
-        if (category.isEmpty()) {
+        Category category = referenceData.category(newsDTO.getCategoryId());
+        if (category == null) {
             throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
                     CommonConstant.ClassName.CATEGORY_CLASS_NAME, newsDTO.getCategoryId()));
         }
+        checkSrcset(newsDTO.getThumbnailSrcset());
         String authToken = request.getHeader("Authorization").substring(7);
         String username = jwtUtils.getUserByToken(authToken);
         User user = userRepository.findByUsername(username);
@@ -56,10 +85,25 @@ public class NewsServiceImpl implements INewsService {
                 newsDTO.getAuthor(),
                 newsDTO.getDescription(),
                 newsDTO.getThumbnail());
-        news.setCategory(category.get());
+        news.setThumbnailSrcset(newsDTO.getThumbnailSrcset());
+        news.setCategory(category);
         news.setCreateBy(user.getFullName());
         news.setLastModifiedBy(user.getFullName());
-        return newsRepository.save(news);
+        News saved = newsRepository.save(news);
+        newsReadCache.invalidateAll();
+        searchIndex.index(saved);
+        return saved;
+    }
+
+    @Override
+    public NewsImportReport importNews(InputStream body, HttpServletRequest request) {
+        String authToken = request.getHeader("Authorization").substring(7);
+        User user = userRepository.findByUsername(jwtUtils.getUserByToken(authToken));
+        NewsImportReport report = newsImporter.importNews(body, user.getFullName(), searchIndex::index);
+        if (report.getCreated() > 0) {
+            newsReadCache.invalidateAll();
+        }
+        return report;
     }
 
     @Override
@@ -71,6 +115,11 @@ public class NewsServiceImpl implements INewsService {
         return newsRepository.findById(id).get();
     }
 
+    @Override
+    public Date getLastModified(Integer id) {
+        return newsRepository.findUpdateDateById(id).orElse(null);
+    }
+
     @Override
     public News update(int newsId, NewsDTO newsDTO, HttpServletRequest request) {
 
@@ -83,6 +132,7 @@ public class NewsServiceImpl implements INewsService {
                         || user.getRole().getRoleName().toString().equals(EnumRole.ROLE_SUPER_ADMIN.toString())) {
                     if (foundNews.get().getTitle().equals(newsDTO.getTitle())
                             || !newsRepository.existsNewsByTitle(newsDTO.getTitle())) {
+                        checkSrcset(newsDTO.getThumbnailSrcset());
                         News news = new News(
                                 newsDTO.getTitle(),
                                 newsDTO.getContent(),
@@ -91,10 +141,15 @@ public class NewsServiceImpl implements INewsService {
                                 newsDTO.getThumbnail()
                         );
                         news.setId(newsId);
+                        news.setThumbnailSrcset(newsDTO.getThumbnailSrcset());
                         news.setCreateBy(foundNews.get().getCreateBy());
                         news.setLastModifiedBy(user.getFullName());
                         news.setCategory(foundNews.get().getCategory());
-                        return newsRepository.save(news);
+                        News saved = newsRepository.save(news);
+                        newsReadCache.invalidateAll();
+                        searchIndex.index(saved);
+                        trendingRanking.refreshNews(newsId);
+                        return saved;
                     } else {
                         throw new VsException(String.format(DevMessageConstant.Common.DUPLICATE_NAME, newsDTO.getTitle()));
                     }
@@ -111,19 +166,25 @@ public class NewsServiceImpl implements INewsService {
     }
 
     @Override
-    public PaginateDTO<News> searchAll(Integer page, Integer size) {
+    public PaginateDTO<NewsSummary> searchAll(Integer page, Integer size) {
         int totalPage = (int) Math.ceil((double) newsRepository.count() / size);
         return new PaginateDTO<>(
-                newsRepository.findAll(PageRequest.of(page, size, Sort.by(CommonConstant.SORT_BY_TIME2).descending()))
-                        .getContent(), page, totalPage);
+                newsRepository.findSummaries(PageRequest.of(page, size, Sort.by(CommonConstant.SORT_BY_TIME2).descending())),
+                page, totalPage);
     }
 
     @Override
-    public List<News> searAllNotPaginate() {
-        if (ObjectUtils.isEmpty(newsRepository.findAll())) {
+    public long searAllNotPaginate(OutputStream outputStream) throws IOException {
+        //Checked before the first byte, an error can not be sent once the list is streaming
+        if (newsRepository.count() == 0) {
             throw new VsException(DevMessageConstant.Common.NO_DATA_SELECTED);
         }
-        return newsRepository.findAll();
+        return newsExporter.exportEnvelope(outputStream);
+    }
+
+    @Override
+    public long exportNews(Integer afterId, OutputStream outputStream) throws IOException {
+        return newsExporter.export(afterId, outputStream);
     }
 
     @Override
@@ -133,144 +194,186 @@ public class NewsServiceImpl implements INewsService {
                     CommonConstant.ClassName.NEWS_CLASS_NAME, id));
         }
         newsRepository.deleteById(id);
+        newsReadCache.invalidateAll();
+        searchIndex.remove(id);
+        trendingRanking.remove(id);
         return DevMessageConstant.Common.NOTIFICATION_DELETE_SUCCESS;
     }
 
     @Override
-    public List<News> getFavoriteNews() {
-        if (ObjectUtils.isEmpty(newsRepository.findAll())) {
+    public List<NewsSummary> getFavoriteNews() {
+        List<NewsSummary> favoriteNews = newsReadCache.favoriteNews(newsRepository::favoriteNews);
+        if (favoriteNews.isEmpty()) {
             throw new VsException(DevMessageConstant.Common.NO_DATA_SELECTED);
         }
+        return favoriteNews;
+    }
 
-        return newsRepository.favoriteNews();
+    @Override
+    public List<NewsSummary> getTrendingNews(Integer categoryId, Integer size) {
+        //Larger sizes are clamped to the ranking length
+        if (size == null || size < 1) {
+            throw new VsException(String.format(DevMessageConstant.Common.SIZE_INVALID, trendingRanking.topK(), size));
+        }
+        List<NewsSummary> trendingNews = trendingRanking.top(categoryId, Math.min(size, trendingRanking.topK()));
+        if (trendingNews.isEmpty() && categoryId == null) {
+            //Nothing viewed since startup yet
+            return getFavoriteNews();
+        }
+        return trendingNews;
     }
 
     @Override
-    public List<News> getLeastNews() {
-        if (ObjectUtils.isEmpty(newsRepository.findAll())) {
+    public List<NewsSummary> getLeastNews() {
+        List<NewsSummary> leastNews = newsReadCache.leastNews(newsRepository::leastNews);
+        if (leastNews.isEmpty()) {
             throw new VsException(DevMessageConstant.Common.NO_DATA_SELECTED);
         }
-        return newsRepository.leastNews();
+        return leastNews;
     }
 
     @Override
-    public PaginateDTO<News> paginateHomePage(Integer page, Integer size) {
-        if (ObjectUtils.isEmpty(newsRepository.findAll())) {
+    public PaginateDTO<NewsSummary> paginateHomePage(Integer page, Integer size) {
+        PaginateDTO<NewsSummary> homePage = newsReadCache.homePage(page, size, () -> new PaginateDTO<>(
+                newsRepository.findSummaries(PageRequest.of(page, size,
+                        Sort.by(CommonConstant.SORT_BY_TIME2).descending())), page, size));
+        //An empty first page means there is no news at all
+        if (page == 0 && homePage.getPageData().isEmpty()) {
             throw new VsException(DevMessageConstant.Common.NO_DATA_SELECTED);
         }
-        return new PaginateDTO<>(newsRepository.findAll(PageRequest.of(page, size,
-                Sort.by(CommonConstant.SORT_BY_TIME2).descending())).getContent(), page, size);
+        return homePage;
+    }
+
+    @Override
+    public CursorPageDTO<NewsSummary> scrollHomePage(String cursor, Integer size) {
+        CursorPageDTO.checkSize(size);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<NewsSummary> rows;
+        if (StringUtils.hasText(cursor)) {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            rows = newsRepository.findLatestSummariesBefore(pageCursor.getCreateDate(), pageCursor.getId(), limit);
+        } else {
+            rows = newsRepository.findLatestSummaries(limit);
+        }
+        return CursorPageDTO.of(rows, size, NewsSummary::getCreateDate, NewsSummary::getId);
     }
 
     @Override
     public News setView(Integer id) {
-        if (!newsRepository.existsById(id)) {
+        Optional<News> found = newsRepository.findById(id);
+        if (found.isEmpty()) {
             throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
                     CommonConstant.ClassName.NEWS_CLASS_NAME, id));
         }
-        News news = newsRepository.getById(id);
-        news.setView(news.getView() + 1);
-        return newsRepository.save(news);
+        viewCounter.increment(id);
+        trendingRanking.recordView(id);
+        //The stored view lags the counter until the next flush
+        News news = found.get();
+        news.setView(news.getView() + (int) viewCounter.pending(id));
+        return news;
     }
 
     @Override
-    public CustomNewDTO filterNewsByCategory(Integer page, Integer size, String author, String title, Integer categoryId, String filter) {
-        if (!categoryRepository.existsById(categoryId)) {
+    public CustomNewDTO filterNewsByCategory(Integer page, Integer size, NewsFilter newsFilter) {
+        Category category = referenceData.category(newsFilter.getCategoryId());
+        if (category == null) {
             throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
-                    CommonConstant.ClassName.CATEGORY_CLASS_NAME, categoryId));
+                    CommonConstant.ClassName.CATEGORY_CLASS_NAME, newsFilter.getCategoryId()));
         }
-        List<News> listNewByCategory = new ArrayList<>();
-        int totalPage = 0;
-        if (!StringUtils.hasText(filter) || filter.equalsIgnoreCase(CommonConstant.SORT_ASC)) {
-            List<News> listNews1 = newsRepository.filterNewsByCategory(categoryId, title, author, PageRequest.of(page, size,
-                    Sort.by(CommonConstant.SORT_BY_TIME).ascending()));
-            for (News item : listNews1) {
-                listNewByCategory.add(new News(
-                        item.getId(), item.getTitle(), item.getContent(),
-                        item.getAuthor(), item.getDescription(),
-                        item.getThumbnail(), item.getView()));
-            }
-            totalPage = (int) Math.ceil((double) listNews1.size() / size);
-        }
-        if (StringUtils.hasText(filter) && filter.equalsIgnoreCase(CommonConstant.SORT_DESC)) {
-            List<News> listNews2 = newsRepository.filterNewsByCategory(categoryId, title, author, PageRequest.of(page, size,
-                    Sort.by(CommonConstant.SORT_BY_TIME).descending()));
-            for (News item : listNews2) {
-                listNewByCategory.add(new News(
-                        item.getId(), item.getTitle(), item.getContent(),
-                        item.getAuthor(), item.getDescription(),
-                        item.getThumbnail(), item.getView()));
-            }
-            totalPage = (int) Math.ceil((double) listNews2.size() / size);
-        }
-        return new CustomNewDTO(listNewByCategory, categoryRepository.findById(categoryId).get(), totalPage);
+        Sort.Direction direction = CommonConstant.SORT_DESC.equalsIgnoreCase(newsFilter.getSort())
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Specification<News> specification = NewsSpecifications.of(newsFilter);
+        List<NewsSummary> listNewByCategory = newsRepository.filterSummaries(specification, PageRequest.of(page, size,
+                Sort.by(direction, CommonConstant.SORT_BY_TIME2, "id")));
+        long totalElements = newsReadCache.filterCount(newsFilter.signature(), () -> newsRepository.count(specification));
+        return new CustomNewDTO(listNewByCategory, category,
+                (int) Math.ceil((double) totalElements / size), totalElements);
     }
 
     @Override
-    public PaginateDTO<News> searchNews(Integer page, Integer size, String key) {
+    public PaginateDTO<NewsSummary> searchNews(Integer page, Integer size, String key) {
         if (!StringUtils.hasText(key)) {
             throw new VsException(DevMessageConstant.Common.NO_DATA_SELECTED);
         }
-        return new PaginateDTO<>(newsRepository.searchNewsByKey("%" + key.toUpperCase(Locale.ROOT).trim() + "%",
-                PageRequest.of(page, size)), page, size);
+        if (!searchIndex.isReady()) {
+            return new PaginateDTO<>(newsRepository.searchNewsByKey("%" + key.toUpperCase(Locale.ROOT).trim() + "%",
+                    PageRequest.of(page, size)), page, size);
+        }
+        NewsSearchIndex.SearchHits hits = searchIndex.search(key, page, size);
+        Map<Integer, NewsSummary> foundNews = new HashMap<>();
+        if (!hits.getIds().isEmpty()) {
+            for (NewsSummary news : newsRepository.findSummariesByIdIn(hits.getIds())) {
+                foundNews.put(news.getId(), news);
+            }
+        }
+        List<NewsSummary> listNews = new ArrayList<>(hits.getIds().size());
+        for (Integer id : hits.getIds()) {
+            NewsSummary news = foundNews.get(id);
+            if (news != null) {
+                listNews.add(news);
+            } else {
+                //Deleted without going through this service, e.g. cascaded from its category
+                searchIndex.remove(id);
+            }
+        }
+        int totalPage = (int) Math.ceil((double) hits.getTotal() / size);
+        return new PaginateDTO<>(listNews, page, totalPage, (long) hits.getTotal());
     }
 
     @Override
     public Integer countRecordNews() {
-        if (ObjectUtils.isEmpty(newsRepository.findAll())) {
-            return 0;
-        }
         return newsRepository.countRecordNews();
     }
 
     @Override
     public News saveNewsWatched(int newsId, HttpServletRequest request) {
-        if (!newsRepository.existsById(newsId)) {
+        Optional<News> found = newsRepository.findById(newsId);
+        if (found.isEmpty()) {
             throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
                     CommonConstant.ClassName.NEWS_CLASS_NAME, newsId));
-        } else {
-            String auth = request.getHeader("Authorization");
-            if (auth != null && auth.startsWith("Bearer ")) {
-
-                int idCurrentUser = userRepository.findByUsername(jwtUtils.getUserByToken(auth.substring(7))).getId();
-
-                News news = newsRepository.findById(newsId).get();
-                if (userRepository.existsById(idCurrentUser)) {
-                    RatingKey ratingKey = new RatingKey(idCurrentUser, newsId);
-                    User user = userRepository.findById(idCurrentUser).get();
-                    UserNews userNews = new UserNews(ratingKey, user, news);
-                    userNewsRepository.save(userNews);
-                }
-                news.setView(news.getView() + 1);
-                return news;
-            } else {
-                News news = newsRepository.findById(newsId).get();
-                news.setView(news.getView() + 1);
-                return news;
+        }
+        News news = found.get();
+        String auth = request.getHeader("Authorization");
+        if (auth != null && auth.startsWith("Bearer ")) {
+            //Watch history is written in batches by WatchHistoryWriter, off the request thread
+            Integer idCurrentUser = currentUserId(auth.substring(7));
+            if (idCurrentUser != null) {
+                watchHistoryWriter.enqueue(idCurrentUser, newsId);
+                trendingRanking.recordWatch(newsId);
             }
         }
+        viewCounter.increment(newsId);
+        trendingRanking.recordView(newsId);
+        news.setView(news.getView() + (int) viewCounter.pending(newsId));
+        return news;
     }
 
     @Override
-    public List<News> getAllNewWatched(HttpServletRequest request) {
-
+    public PaginateDTO<NewsSummary> getAllNewWatched(Integer page, Integer size, HttpServletRequest request) {
         String authToken = request.getHeader("Authorization").substring(7);
-        String username = jwtUtils.getUserByToken(authToken);
-        User user = userRepository.findByUsername(username);
-
-
-        List<UserNews> userNews = userNewsRepository.findAll();
-        List<News> listNews = new ArrayList<>();
-        for (UserNews item : userNews) {
-            if (Objects.equals(item.getUser().getId(), user.getId())) {
-                News news = newsRepository.findById(item.getNews().getId()).get();
-                listNews.add(news);
-            }
+        Integer idCurrentUser = currentUserId(authToken);
+        if (idCurrentUser == null) {
+            throw new VsException(DevMessageConstant.Common.NO_DATA_SELECTED);
         }
-        if (listNews.isEmpty()) {
+        List<NewsSummary> listNews = userNewsRepository.findWatchedSummaries(idCurrentUser, PageRequest.of(page, size));
+        if (listNews.isEmpty() && page == 0) {
             throw new VsException(DevMessageConstant.Common.NO_DATA_SELECTED);
-        } else {
-            return listNews;
         }
+        long totalElements = userNewsRepository.countByRatingKeyUserId(idCurrentUser);
+        return new PaginateDTO<>(listNews, page, (int) Math.ceil((double) totalElements / size), totalElements);
+    }
+
+    private void checkSrcset(String srcset) {
+        String error = srcsetValidator.validate(srcset);
+        if (error != null) {
+            throw new VsException(error);
+        }
+    }
+
+    private Integer currentUserId(String authToken) {
+        return principalCache.userId(jwtUtils.getUserByToken(authToken), username -> {
+            User user = userRepository.findByUsername(username);
+            return user == null ? null : user.getId();
+        });
     }
 }
@@ -1,10 +1,11 @@
 package doctintuc.com.websitedoctintuc.application.service.impl;
 
+import doctintuc.com.websitedoctintuc.application.cache.PrincipalCache;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
 import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
 import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
 import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
 import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
-import doctintuc.com.websitedoctintuc.application.repository.RoleRepository;
 import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
 import doctintuc.com.websitedoctintuc.application.request.LoginRequest;
 import doctintuc.com.websitedoctintuc.application.response.UserResponse;
@@ -13,6 +14,8 @@ import doctintuc.com.websitedoctintuc.application.service.user_detail.UserDetail
 import doctintuc.com.websitedoctintuc.config.exception.VsException;
 import doctintuc.com.websitedoctintuc.domain.dto.UserDTO;
 import doctintuc.com.websitedoctintuc.domain.entity.User;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
+import doctintuc.com.websitedoctintuc.domain.pagine.PageCursor;
 import doctintuc.com.websitedoctintuc.domain.pagine.PaginateDTO;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -29,6 +32,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -42,9 +46,10 @@ import java.util.Optional;
 public class UserServiceImpl implements IUserService {
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final ReferenceData referenceData;
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final PrincipalCache principalCache;
 
     @Override
     public User create(UserDTO accountDTO, HttpServletRequest request) {
@@ -88,9 +93,9 @@ public class UserServiceImpl implements IUserService {
             account.setLastModifiedBy(createBy);
             account.setPassword(new BCryptPasswordEncoder().encode(accountDTO.getPassword()));
             if (flag) {
-                account.setRole(roleRepository.findRoleByRoleName(EnumRole.ROLE_ADMIN));
+                account.setRole(referenceData.role(EnumRole.ROLE_ADMIN));
             } else {
-                account.setRole(roleRepository.findRoleByRoleName(EnumRole.ROLE_USER));
+                account.setRole(referenceData.role(EnumRole.ROLE_USER));
             }
             userRepository.save(account);
             return  account;
@@ -149,6 +154,7 @@ public class UserServiceImpl implements IUserService {
                                 user.setRole(currentUser.getRole());
                                 user.setLastModifiedBy(currentUser.getFullName());
                                 userRepository.save(user);
+                                principalCache.invalidate(user.getUsername());
                                 return user;
                             } else {
                                 throw new VsException(DevMessageConstant.Common.AUTHORIZED);
@@ -163,7 +169,9 @@ public class UserServiceImpl implements IUserService {
                                 user.setPassword(currentUser.getPassword());
                                 user.setRole(currentUser.getRole());
                                 user.setLastModifiedBy(currentUser.getFullName());
-                                return userRepository.save(user);
+                                User saved = userRepository.save(user);
+                                principalCache.invalidate(user.getUsername());
+                                return saved;
                             } else {
                                 if (currentUser.getRole().getRoleName().toString()
                                         .equals(foundUser.get().getRole().getRoleName().toString())) {
@@ -192,7 +200,9 @@ public class UserServiceImpl implements IUserService {
                                     user.setPassword(foundUser.get().getPassword());
                                     user.setRole(foundUser.get().getRole());
                                     user.setLastModifiedBy(currentUser.getFullName());
-                                    return userRepository.save(user);
+                                    User saved = userRepository.save(user);
+                                    principalCache.invalidate(user.getUsername());
+                                    return saved;
                                 }
                             }
                         }
@@ -231,7 +241,9 @@ public class UserServiceImpl implements IUserService {
                 user.setCreateBy(currentUser.getCreateBy());
                 user.setPassword(currentUser.getPassword());
                 user.setRole(currentUser.getRole());
-                return userRepository.save(user);
+                User saved = userRepository.save(user);
+                principalCache.invalidate(user.getUsername());
+                return saved;
             }
         }
         return null;
@@ -239,11 +251,13 @@ public class UserServiceImpl implements IUserService {
 
     @Override
     public String delete(int id) {
-        if (!userRepository.existsById(id)) {
+        Optional<User> user = userRepository.findWithCommentsById(id);
+        if (user.isEmpty()) {
             throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
                     CommonConstant.ClassName.USER_CLASS_NAME, id));
         } else {
-            userRepository.deleteById(id);
+            userRepository.delete(user.get());
+            principalCache.invalidate(user.get().getUsername());
         }
         return DevMessageConstant.Common.NOTIFICATION_DELETE_SUCCESS;
     }
@@ -255,6 +269,20 @@ public class UserServiceImpl implements IUserService {
                 .descending())).getContent(), page, totalPage);
     }
 
+    @Override
+    public CursorPageDTO<User> scrollAll(String cursor, Integer size) {
+        CursorPageDTO.checkSize(size);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<User> rows;
+        if (StringUtils.hasText(cursor)) {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            rows = userRepository.findLatestBefore(pageCursor.getCreateDate(), pageCursor.getId(), limit);
+        } else {
+            rows = userRepository.findLatest(limit);
+        }
+        return CursorPageDTO.of(rows, size, User::getCreateDate, User::getId);
+    }
+
     @Override
     public UserResponse login(LoginRequest loginRequest) {
 
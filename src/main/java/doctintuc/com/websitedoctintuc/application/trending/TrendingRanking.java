@@ -0,0 +1,305 @@
+package doctintuc.com.websitedoctintuc.application.trending;
+
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Trending news ranked by exponentially time-decayed view and watch scores.
+ * <p>
+ * Scores use forward decay: an event at time t adds {@code weight * 2^((t - landmark) / halfLife)}, so
+ * every score decays at the same rate and the relative order of news that received no new events never
+ * changes. A refresh only re-sorts the news that changed since the previous one, then publishes the
+ * top K overall and per category as an immutable snapshot that {@link #top} reads in O(K).
+ */
+@Component
+public class TrendingRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingRanking.class);
+
+    //Scores are rescaled to a new landmark before 2^exponent loses precision
+    private static final double MAX_EXPONENT = 60;
+
+    //Highest score first, newest id first on ties
+    private static final Comparator<Item> ORDER = Comparator.comparingDouble((Item item) -> item.score).reversed()
+            .thenComparing(Comparator.comparingInt((Item item) -> item.newsId).reversed());
+
+    private final NewsRepository newsRepository;
+
+    private final long halfLifeMillis;
+
+    private final int topK;
+
+    private final int maxTracked;
+
+    private final double watchWeight;
+
+    //Events since the last refresh, written by request threads
+    private final ConcurrentHashMap<Integer, DoubleAdder> pending = new ConcurrentHashMap<>();
+    private final Set<Integer> removed = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> stale = ConcurrentHashMap.newKeySet();
+
+    //Only touched by refresh
+    private final Map<Integer, Item> items = new HashMap<>();
+    private final TreeSet<Item> global = new TreeSet<>(ORDER);
+    private final Map<Integer, TreeSet<Item>> byCategory = new HashMap<>();
+    private long landmark = System.currentTimeMillis();
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyList(), Collections.emptyMap(), 0, 0, 0);
+
+    public TrendingRanking(NewsRepository newsRepository,
+                           @Value("${news.trending.half-life-ms:21600000}") long halfLifeMillis,
+                           @Value("${news.trending.top-k:20}") int topK,
+                           @Value("${news.trending.max-tracked:5000}") int maxTracked,
+                           @Value("${news.trending.watch-weight:2}") double watchWeight) {
+        this.newsRepository = newsRepository;
+        this.halfLifeMillis = halfLifeMillis;
+        this.topK = topK;
+        this.maxTracked = maxTracked;
+        this.watchWeight = watchWeight;
+    }
+
+    public void recordView(int newsId) {
+        record(newsId, 1);
+    }
+
+    /**
+     * An article opened by a signed in user counts more than an anonymous view.
+     */
+    public void recordWatch(int newsId) {
+        record(newsId, watchWeight);
+    }
+
+    private void record(int newsId, double weight) {
+        DoubleAdder adder = pending.get(newsId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(newsId, id -> new DoubleAdder());
+        }
+        adder.add(weight);
+    }
+
+    /**
+     * Reload title and category of the news on the next refresh.
+     */
+    public void refreshNews(int newsId) {
+        stale.add(newsId);
+    }
+
+    public void remove(int newsId) {
+        removed.add(newsId);
+    }
+
+    /**
+     * @param categoryId null for the overall ranking
+     */
+    public List<NewsSummary> top(Integer categoryId, int size) {
+        if (size <= 0) {
+            return Collections.emptyList();
+        }
+        Snapshot current = snapshot;
+        List<NewsSummary> ranked = categoryId == null
+                ? current.global
+                : current.byCategory.getOrDefault(categoryId, Collections.emptyList());
+        return ranked.size() <= size ? ranked : ranked.subList(0, size);
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    @Scheduled(fixedDelayString = "${news.trending.refresh-interval-ms:5000}")
+    public void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    public synchronized void refresh(long now) {
+        long start = System.currentTimeMillis();
+        for (Iterator<Integer> iterator = removed.iterator(); iterator.hasNext(); ) {
+            drop(items.get(iterator.next()));
+            iterator.remove();
+        }
+        if (exponent(now) > MAX_EXPONENT) {
+            rescale(now);
+        }
+        Set<Integer> unresolved = new HashSet<>();
+        double boost = Math.pow(2, exponent(now));
+        for (Map.Entry<Integer, DoubleAdder> entry : pending.entrySet()) {
+            double weight = entry.getValue().sumThenReset();
+            if (weight == 0) {
+                pending.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            Item item = items.get(entry.getKey());
+            if (item == null) {
+                item = new Item(entry.getKey());
+                items.put(item.newsId, item);
+                unresolved.add(item.newsId);
+            }
+            detach(item);
+            item.score += weight * boost;
+            attach(item);
+        }
+        for (Iterator<Integer> iterator = stale.iterator(); iterator.hasNext(); ) {
+            Integer newsId = iterator.next();
+            iterator.remove();
+            if (items.containsKey(newsId)) {
+                unresolved.add(newsId);
+            }
+        }
+        resolve(unresolved);
+        prune(boost);
+        publish(now, start);
+    }
+
+    private double exponent(long now) {
+        return (double) (now - landmark) / halfLifeMillis;
+    }
+
+    private void rescale(long now) {
+        double factor = Math.pow(2, -exponent(now));
+        global.clear();
+        byCategory.clear();
+        for (Item item : items.values()) {
+            item.score *= factor;
+            attach(item);
+        }
+        landmark = now;
+    }
+
+    private void resolve(Set<Integer> newsIds) {
+        if (newsIds.isEmpty()) {
+            return;
+        }
+        Map<Integer, NewsSummary> found = new HashMap<>();
+        try {
+            for (NewsSummary summary : newsRepository.findSummariesByIdIn(newsIds)) {
+                found.put(summary.getId(), summary);
+            }
+        } catch (Exception e) {
+            log.error("Load trending news failed, retry on next refresh : {}", e.getMessage());
+            stale.addAll(newsIds);
+            return;
+        }
+        for (Integer newsId : newsIds) {
+            Item item = items.get(newsId);
+            NewsSummary summary = found.get(newsId);
+            if (summary == null) {
+                //Deleted meanwhile
+                drop(item);
+                continue;
+            }
+            detach(item);
+            item.summary = summary;
+            attach(item);
+        }
+    }
+
+    private void prune(double boost) {
+        //Decayed below a hundredth of a view, or beyond the tracking limit
+        while (!global.isEmpty() && (items.size() > maxTracked || global.last().score < boost / 100)) {
+            drop(global.last());
+        }
+    }
+
+    private void publish(long now, long start) {
+        List<NewsSummary> top = head(global);
+        Map<Integer, List<NewsSummary>> topByCategory = new HashMap<>();
+        for (Map.Entry<Integer, TreeSet<Item>> entry : byCategory.entrySet()) {
+            topByCategory.put(entry.getKey(), head(entry.getValue()));
+        }
+        snapshot = new Snapshot(top, topByCategory, items.size(), now, System.currentTimeMillis() - start);
+    }
+
+    private List<NewsSummary> head(TreeSet<Item> ranked) {
+        List<NewsSummary> top = new ArrayList<>(Math.min(topK, ranked.size()));
+        for (Item item : ranked) {
+            if (top.size() == topK) {
+                break;
+            }
+            top.add(item.summary);
+        }
+        return Collections.unmodifiableList(top);
+    }
+
+    //Only news with a loaded summary are ranked
+    private void attach(Item item) {
+        if (item.summary == null) {
+            return;
+        }
+        global.add(item);
+        if (item.summary.getCategoryId() != null) {
+            byCategory.computeIfAbsent(item.summary.getCategoryId(), id -> new TreeSet<>(ORDER)).add(item);
+        }
+    }
+
+    private void detach(Item item) {
+        if (item.summary == null) {
+            return;
+        }
+        global.remove(item);
+        Integer categoryId = item.summary.getCategoryId();
+        TreeSet<Item> category = categoryId == null ? null : byCategory.get(categoryId);
+        if (category != null) {
+            category.remove(item);
+            if (category.isEmpty()) {
+                byCategory.remove(categoryId);
+            }
+        }
+    }
+
+    private void drop(Item item) {
+        if (item != null) {
+            detach(item);
+            items.remove(item.newsId);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedNews", current.trackedNews);
+        stats.put("pendingNews", pending.size());
+        stats.put("categories", current.byCategory.size());
+        stats.put("topK", topK);
+        stats.put("halfLifeMillis", halfLifeMillis);
+        stats.put("lastRefresh", current.refreshedAt);
+        stats.put("lastRefreshMillis", current.refreshMillis);
+        return stats;
+    }
+
+    private static final class Item {
+        private final int newsId;
+        //Relative to landmark, not decayed
+        private double score;
+        private NewsSummary summary;
+
+        private Item(int newsId) {
+            this.newsId = newsId;
+        }
+    }
+
+    private static final class Snapshot {
+        private final List<NewsSummary> global;
+        private final Map<Integer, List<NewsSummary>> byCategory;
+        private final int trackedNews;
+        private final long refreshedAt;
+        private final long refreshMillis;
+
+        private Snapshot(List<NewsSummary> global, Map<Integer, List<NewsSummary>> byCategory,
+                         int trackedNews, long refreshedAt, long refreshMillis) {
+            this.global = global;
+            this.byCategory = byCategory;
+            this.trackedNews = trackedNews;
+            this.refreshedAt = refreshedAt;
+            this.refreshMillis = refreshMillis;
+        }
+    }
+}
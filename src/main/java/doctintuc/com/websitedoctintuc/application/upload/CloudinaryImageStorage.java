@@ -0,0 +1,48 @@
+package doctintuc.com.websitedoctintuc.application.upload;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Images uploaded to Cloudinary, the SDK streams the file from disk.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStorage implements ImageStorage {
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryImageStorage(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    public String store(Path file, String key, String contentType) throws IOException {
+        Map<?, ?> uploaded = cloudinary.uploader().upload(file.toFile(),
+                ObjectUtils.asMap("public_id", publicId(key), "resource_type", "image"));
+        //secure_url is the https url in the metadata returned after the upload
+        return uploaded.get("secure_url").toString();
+    }
+
+    @Override
+    public void delete(String url) throws IOException {
+        cloudinary.uploader().destroy(publicId(url.substring(url.lastIndexOf("/") + 1)), ObjectUtils.emptyMap());
+    }
+
+    @Override
+    public boolean owns(String url) {
+        return url != null && url.startsWith("https://res.cloudinary.com/" + cloudinary.config.cloudName + "/");
+    }
+
+    //Cloudinary appends the format itself
+    private static String publicId(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot > 0 ? key.substring(0, dot) : key;
+    }
+}
@@ -0,0 +1,25 @@
+package doctintuc.com.websitedoctintuc.application.upload;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Where uploaded images end up. The implementation is chosen with {@code upload.storage}:
+ * {@code cloudinary} (default) or {@code local}, which needs no network and is what tests use.
+ */
+public interface ImageStorage {
+
+    /**
+     * Stores the file under {@code key}, reading it from disk rather than from memory.
+     *
+     * @return public url of the stored image
+     */
+    String store(Path file, String key, String contentType) throws IOException;
+
+    void delete(String url) throws IOException;
+
+    /**
+     * @return true when the url is one this storage hands out
+     */
+    boolean owns(String url);
+}
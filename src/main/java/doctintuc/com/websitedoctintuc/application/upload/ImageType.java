@@ -0,0 +1,77 @@
+package doctintuc.com.websitedoctintuc.application.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Image formats accepted for upload, recognized from the first bytes of the file. The client's
+ * content type and file name are never trusted: they decide neither whether a file is accepted nor
+ * the extension it is stored and served with.
+ */
+public enum ImageType {
+
+    JPEG("jpg", "image/jpeg"),
+    PNG("png", "image/png"),
+    GIF("gif", "image/gif"),
+    WEBP("webp", "image/webp");
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    //Longest signature read, RIFF size WEBP
+    private static final int HEADER_LENGTH = 12;
+
+    private final String extension;
+
+    private final String contentType;
+
+    ImageType(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * @return the type of the file, null when it is none of the accepted formats
+     */
+    public static ImageType sniff(Path file) throws IOException {
+        byte[] header = new byte[HEADER_LENGTH];
+        int read;
+        try (InputStream input = Files.newInputStream(file)) {
+            read = input.readNBytes(header, 0, HEADER_LENGTH);
+        }
+        return sniff(Arrays.copyOf(header, read));
+    }
+
+    static ImageType sniff(byte[] header) {
+        if (header.length >= 3 && (header[0] & 0xff) == 0xff && (header[1] & 0xff) == 0xd8 && (header[2] & 0xff) == 0xff) {
+            return JPEG;
+        }
+        if (header.length >= PNG_SIGNATURE.length && Arrays.equals(header, 0, PNG_SIGNATURE.length, PNG_SIGNATURE, 0, PNG_SIGNATURE.length)) {
+            return PNG;
+        }
+        if (startsWith(header, 0, "GIF87a") || startsWith(header, 0, "GIF89a")) {
+            return GIF;
+        }
+        if (startsWith(header, 0, "RIFF") && startsWith(header, 8, "WEBP")) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int offset, String signature) {
+        byte[] expected = signature.getBytes(StandardCharsets.US_ASCII);
+        return header.length >= offset + expected.length
+                && Arrays.equals(header, offset, offset + expected.length, expected, 0, expected.length);
+    }
+}
@@ -0,0 +1,235 @@
+package doctintuc.com.websitedoctintuc.application.upload;
+
+import doctintuc.com.websitedoctintuc.domain.dto.ImageVariant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-width copies of uploaded images for {@code srcset}, so listings do not ship the original to
+ * a 200px card. The image is decoded once and each width is resized and stored on a bounded pool
+ * sized for the CPU; when the pool is saturated the upload worker resizes itself, which slows
+ * uploads down instead of queuing decoded images without limit.
+ * <p>
+ * Images with alpha are written as PNG, the others as JPEG. Formats ImageIO can not decode and
+ * images over {@code upload.variants.max-pixels} get no variants, the original is used as is. A
+ * decoded image takes 4 bytes per pixel, so at most {@code upload.variants.max-decoded} images are
+ * held in memory at once, the other upload workers wait for their turn.
+ */
+@Component
+public class ImageVariants {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariants.class);
+
+    private final ImageStorage storage;
+
+    private final Path tempDir;
+
+    private final int[] widths;
+
+    private final float jpegQuality;
+
+    private final long maxPixels;
+
+    private final Semaphore decodePermits;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong resizedImages = new AtomicLong();
+    private final AtomicLong skippedImages = new AtomicLong();
+    private final AtomicLong failedImages = new AtomicLong();
+    private final AtomicLong storedVariants = new AtomicLong();
+    private volatile long lastResizeMillis;
+
+    public ImageVariants(ImageStorage storage,
+                         @Value("${upload.temp-dir:${java.io.tmpdir}}") String tempDir,
+                         @Value("${upload.variants.widths:160,320,640,1280}") int[] widths,
+                         @Value("${upload.variants.threads:0}") int threads,
+                         @Value("${upload.variants.queue-capacity:64}") int queueCapacity,
+                         @Value("${upload.variants.jpeg-quality:0.82}") float jpegQuality,
+                         @Value("${upload.variants.max-pixels:16000000}") long maxPixels,
+                         @Value("${upload.variants.max-decoded:2}") int maxDecoded) throws IOException {
+        this.storage = storage;
+        this.tempDir = Files.createDirectories(Paths.get(tempDir));
+        this.widths = Arrays.stream(widths).sorted().distinct().toArray();
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        this.decodePermits = new Semaphore(maxDecoded, true);
+        //0 means one thread per core, resizing is CPU bound
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger created = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-resize-" + created.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return the variants narrower than the original, then the original itself, or an empty list
+     * when the image gets no variants
+     */
+    public List<ImageVariant> generate(Path original, String id, String originalUrl) throws IOException {
+        try {
+            decodePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Resize of " + id + " was interrupted");
+        }
+        try {
+            return generate(original, id, originalUrl, System.currentTimeMillis());
+        } finally {
+            decodePermits.release();
+        }
+    }
+
+    private List<ImageVariant> generate(Path original, String id, String originalUrl, long start) throws IOException {
+        BufferedImage source = read(original);
+        if (source == null) {
+            skippedImages.incrementAndGet();
+            return Collections.emptyList();
+        }
+        String format = source.getColorModel().hasAlpha() ? "png" : "jpg";
+        List<Future<ImageVariant>> futures = new ArrayList<>();
+        for (int width : widths) {
+            if (width < source.getWidth()) {
+                futures.add(executor.submit(() -> variant(source, width, id, format)));
+            }
+        }
+        List<ImageVariant> variants = new ArrayList<>(futures.size() + 1);
+        try {
+            for (Future<ImageVariant> future : futures) {
+                variants.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            failedImages.incrementAndGet();
+            throw e.getCause() instanceof IOException ioException ? ioException : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Resize of " + id + " was interrupted");
+        }
+        variants.add(new ImageVariant(source.getWidth(), source.getHeight(), originalUrl));
+        resizedImages.incrementAndGet();
+        lastResizeMillis = System.currentTimeMillis() - start;
+        return variants;
+    }
+
+    private BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                //Checked from the header, before the pixels are decoded
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private ImageVariant variant(BufferedImage source, int width, String id, String format) throws IOException {
+        BufferedImage resized = scale(source, width);
+        Path temp = Files.createTempFile(tempDir, "variant-", "." + format);
+        try {
+            write(resized, format, temp);
+            String url = storage.store(temp, id + "-" + width + "w." + format, "jpg".equals(format) ? "image/jpeg" : "image/png");
+            storedVariants.incrementAndGet();
+            return new ImageVariant(resized.getWidth(), resized.getHeight(), url);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        //Halving first, a single bilinear pass over a large ratio skips most source pixels and aliases
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("widths", widths);
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("waitingDecodes", decodePermits.getQueueLength());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("resizedImages", resizedImages.get());
+        stats.put("skippedImages", skippedImages.get());
+        stats.put("failedImages", failedImages.get());
+        stats.put("storedVariants", storedVariants.get());
+        stats.put("lastResizeMillis", lastResizeMillis);
+        return stats;
+    }
+}
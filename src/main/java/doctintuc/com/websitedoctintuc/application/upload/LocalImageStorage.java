@@ -0,0 +1,62 @@
+package doctintuc.com.websitedoctintuc.application.upload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Images kept in a directory of the server, served back under {@code upload.local.base-url}.
+ */
+@Component
+@ConditionalOnProperty(name = "upload.storage", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    private final Path root;
+
+    private final String baseUrl;
+
+    public LocalImageStorage(@Value("${upload.local.dir:${java.io.tmpdir}/doctintuc-uploads}") String dir,
+                             @Value("${upload.local.base-url:/api/v1/no-auth/uploads/}") String baseUrl) throws IOException {
+        this.root = Files.createDirectories(Paths.get(dir)).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    public String store(Path file, String key, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        return baseUrl + key;
+    }
+
+    @Override
+    public void delete(String url) throws IOException {
+        if (url != null && url.startsWith(baseUrl)) {
+            Files.deleteIfExists(resolve(url.substring(baseUrl.length())));
+        }
+    }
+
+    @Override
+    public boolean owns(String url) {
+        return url != null && url.startsWith(baseUrl) && url.length() > baseUrl.length() && !url.contains("..");
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    //Keys come from the upload pipeline, still never let one point outside the root
+    private Path resolve(String key) {
+        Path target = root.resolve(key).normalize();
+        if (!target.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid storage key " + key);
+        }
+        return target;
+    }
+}
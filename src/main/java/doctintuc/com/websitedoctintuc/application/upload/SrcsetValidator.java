@@ -0,0 +1,47 @@
+package doctintuc.com.websitedoctintuc.application.upload;
+
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks a client supplied {@code thumbnailSrcset} before it is stored: comma separated
+ * {@code <url> <width>w} entries, as {@code UploadJob.srcset} builds them, whose urls point to
+ * images of the configured {@link ImageStorage}.
+ */
+@Component
+public class SrcsetValidator {
+
+    //Length of news.thumbnail_srcset
+    public static final int MAX_LENGTH = 2000;
+
+    private static final Pattern ENTRY = Pattern.compile("([^\\s,\"'<>]+)\\s+([1-9][0-9]{0,4})w");
+
+    private final ImageStorage storage;
+
+    public SrcsetValidator(ImageStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * @return why the srcset is rejected, null when it is valid or empty
+     */
+    public String validate(String srcset) {
+        if (!StringUtils.hasText(srcset)) {
+            return null;
+        }
+        if (srcset.length() > MAX_LENGTH) {
+            return String.format(DevMessageConstant.Common.SRCSET_TOO_LONG, MAX_LENGTH);
+        }
+        for (String entry : srcset.split(",")) {
+            Matcher matcher = ENTRY.matcher(entry.trim());
+            if (!matcher.matches() || !storage.owns(matcher.group(1))) {
+                return String.format(DevMessageConstant.Common.SRCSET_INVALID, entry.trim());
+            }
+        }
+        return null;
+    }
+}
@@ -1,51 +1,233 @@
 package doctintuc.com.websitedoctintuc.application.utils;
 
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
-import lombok.RequiredArgsConstructor;
+import doctintuc.com.websitedoctintuc.application.cache.TtlCache;
+import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import doctintuc.com.websitedoctintuc.application.upload.ImageStorage;
+import doctintuc.com.websitedoctintuc.application.upload.ImageType;
+import doctintuc.com.websitedoctintuc.application.upload.ImageVariants;
+import doctintuc.com.websitedoctintuc.config.exception.VsException;
+import doctintuc.com.websitedoctintuc.domain.dto.ImageVariant;
+import doctintuc.com.websitedoctintuc.domain.dto.UploadJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Asynchronous image upload. The request thread moves the multipart file Tomcat already spooled to
+ * disk into the upload temp dir, a rename on the same file system, so the image is neither held on
+ * the heap nor copied again, then hands it to a bounded pool and returns the job at once; the job is
+ * polled by id. Jobs are pinned until they finish and kept in an expiring cache afterwards. Only
+ * JPEG, PNG, GIF and WebP files are accepted, recognized by {@link ImageType} from their first bytes.
+ * The worker stores the file through {@link ImageStorage}, retrying failed attempts with a linear
+ * backoff, then has {@link ImageVariants} store the resized copies. A full queue rejects the upload,
+ * the caller answers 503.
+ */
 @Component
-@RequiredArgsConstructor
 public class UploadCloudinary {
 
-    private final Cloudinary cloudinary;
+    private static final Logger log = LoggerFactory.getLogger(UploadCloudinary.class);
 
-    public File convertMultipartToFile(MultipartFile file)
-            throws IOException {
-        File convertFile = new File(Objects.requireNonNull(file.getOriginalFilename()));
-        FileOutputStream outputStream = new FileOutputStream(convertFile);
-        outputStream.write(file.getBytes());
-        outputStream.close();
-        return convertFile;
+    private final ImageStorage storage;
+
+    private final ImageVariants imageVariants;
+
+    private final Path tempDir;
+
+    private final int maxAttempts;
+
+    private final long retryBackoffMillis;
+
+    private final ThreadPoolExecutor executor;
+
+    //Queued and running jobs, never evicted; bounded by the executor queue and threads
+    private final ConcurrentHashMap<String, UploadJob> unfinishedJobs = new ConcurrentHashMap<>();
+
+    //Finished jobs
+    private final TtlCache<String, UploadJob> jobs;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong uploaded = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+
+    public UploadCloudinary(ImageStorage storage, ImageVariants imageVariants,
+                            @Value("${upload.temp-dir:${java.io.tmpdir}}") String tempDir,
+                            @Value("${upload.executor.threads:4}") int threads,
+                            @Value("${upload.executor.queue-capacity:100}") int queueCapacity,
+                            @Value("${upload.max-attempts:3}") int maxAttempts,
+                            @Value("${upload.retry-backoff-ms:1000}") long retryBackoffMillis,
+                            @Value("${upload.jobs.max-entries:10000}") int maxJobs,
+                            @Value("${upload.jobs.ttl-ms:3600000}") long jobTtlMillis) throws IOException {
+        this.storage = storage;
+        this.imageVariants = imageVariants;
+        this.tempDir = Files.createDirectories(Paths.get(tempDir));
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.jobs = new TtlCache<>("upload-job", maxJobs, jobTtlMillis);
+        AtomicInteger created = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + created.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("Image upload queue is full");
+                });
+        this.executor.allowCoreThreadTimeOut(true);
     }
 
-    public String getUrlFromFile(MultipartFile multipartFile) throws Exception {
+    /**
+     * @return the queued job, or null when the upload queue is full and the image was rejected
+     */
+    public UploadJob submit(MultipartFile multipartFile) throws IOException {
+        if (multipartFile == null || multipartFile.isEmpty()) {
+            throw new VsException(DevMessageConstant.Common.EMPTY);
+        }
+        String id = UUID.randomUUID().toString();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
         try {
-            Map<?, ?> mapFile = cloudinary.uploader().upload(multipartFile.getBytes(), ObjectUtils.emptyMap());
-            //Todo : ObjectUtils.emptyMap : returns an empty 'java.util.Map' object
-            //Todo : mapFile.get("secure_url") : is a key used in the metadata returned after uploading an image
-            return mapFile.get("secure_url").toString();
-        } catch (Exception exception) {
-            throw new Exception("The process get url from file failed!");
+            //A File, not a Path: only transferTo(File) lets Tomcat move its spooled file instead of copying it
+            multipartFile.transferTo(temp.toFile());
+            long size = Files.size(temp);
+            //Accepted and named from the content, a client could send an html page as image/png
+            ImageType type = ImageType.sniff(temp);
+            if (type == null) {
+                throw new VsException(String.format(DevMessageConstant.Common.NOT_AN_IMAGE, multipartFile.getContentType()));
+            }
+            String key = id + "." + type.extension();
+            UploadJob job = new UploadJob(id, multipartFile.getOriginalFilename(), size);
+            unfinishedJobs.put(id, job);
+            executor.execute(() -> upload(job, temp, key, type.contentType()));
+            submitted.incrementAndGet();
+            return job;
+        } catch (RejectedExecutionException e) {
+            unfinishedJobs.remove(id);
+            Files.deleteIfExists(temp);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
         }
     }
 
+    public UploadJob getJob(String id) {
+        UploadJob job = unfinishedJobs.get(id);
+        if (job == null) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new VsException(String.format(DevMessageConstant.Common.NOT_FOUND_OBJECT_BY_ID,
+                    CommonConstant.ClassName.UPLOAD_JOB_CLASS_NAME, id));
+        }
+        return job;
+    }
+
     public String removeFileToUrl(String imageUrl) throws Exception {
         try {
-            String publicId = imageUrl.substring(imageUrl.lastIndexOf("/") + 1, imageUrl.lastIndexOf("."));
-            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            storage.delete(imageUrl);
             return "Remove file to url is successfully";
         } catch (Exception exception) {
             throw new Exception("Upload image failed");
         }
     }
-}
\ No newline at end of file
+
+    private void upload(UploadJob job, Path temp, String key, String contentType) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                job.uploading(attempt);
+                String url;
+                try {
+                    url = storage.store(temp, key, contentType);
+                } catch (Exception e) {
+                    if (attempt >= maxAttempts) {
+                        failed.incrementAndGet();
+                        job.failed(e.getMessage());
+                        log.error("Upload {} failed after {} attempts : {}", job.getId(), attempt, e.getMessage());
+                        return;
+                    }
+                    retries.incrementAndGet();
+                    job.retrying(e.getMessage());
+                    Thread.sleep(retryBackoffMillis * attempt);
+                    continue;
+                }
+                uploaded.incrementAndGet();
+                uploadedBytes.addAndGet(job.getSize());
+                job.done(url, variants(job, temp, url));
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.incrementAndGet();
+            job.failed("Upload was interrupted");
+        } finally {
+            //Cached before it is unpinned, so a poll in between still finds it
+            jobs.put(job.getId(), job);
+            unfinishedJobs.remove(job.getId());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Can not delete temp file {} : {}", temp, e.getMessage());
+            }
+        }
+    }
+
+    //The original is uploaded already, an image that can not be resized is still served as is
+    private List<ImageVariant> variants(UploadJob job, Path temp, String url) {
+        try {
+            return imageVariants.generate(temp, job.getId(), url);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Variants of upload {} failed, keeping the original only : {}", job.getId(), e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("storage", storage.getClass().getSimpleName());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueRemaining", executor.getQueue().remainingCapacity());
+        stats.put("submitted", submitted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("uploaded", uploaded.get());
+        stats.put("uploadedBytes", uploadedBytes.get());
+        stats.put("retries", retries.get());
+        stats.put("failed", failed.get());
+        stats.put("unfinishedJobs", unfinishedJobs.size());
+        stats.put("jobs", jobs.stats());
+        stats.put("variants", imageVariants.stats());
+        return stats;
+    }
+}
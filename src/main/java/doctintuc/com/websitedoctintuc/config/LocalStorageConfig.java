@@ -0,0 +1,62 @@
+package doctintuc.com.websitedoctintuc.config;
+
+import doctintuc.com.websitedoctintuc.application.upload.ImageType;
+import doctintuc.com.websitedoctintuc.application.upload.LocalImageStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+
+/**
+ * Serves the images of {@link LocalImageStorage} from its directory. The default base url is under
+ * {@code /api/v1/no-auth} so the images are public like the news that show them.
+ * <p>
+ * The files are served from the application origin, so only the image extensions are mapped and
+ * every response forbids content sniffing and scripts, in case a file that is not an image got there.
+ */
+@Configuration
+@ConditionalOnProperty(name = "upload.storage", havingValue = "local")
+public class LocalStorageConfig implements WebMvcConfigurer {
+
+    private final LocalImageStorage storage;
+
+    private final String baseUrl;
+
+    public LocalStorageConfig(LocalImageStorage storage,
+                              @Value("${upload.local.base-url:/api/v1/no-auth/uploads/}") String baseUrl) {
+        this.storage = storage;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(imagePatterns())
+                .addResourceLocations(storage.root().toUri().toString());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.setHeader("X-Content-Type-Options", "nosniff");
+                response.setHeader("Content-Security-Policy", "default-src 'none'; sandbox");
+                return true;
+            }
+        }).addPathPatterns(baseUrl + "**");
+    }
+
+    //Storage keys are flat, <id>.<ext> and <id>-<width>w.<ext>
+    private String[] imagePatterns() {
+        return Arrays.stream(ImageType.values())
+                .map(type -> baseUrl + "*." + type.extension())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,43 @@
+package doctintuc.com.websitedoctintuc.config;
+
+import doctintuc.com.websitedoctintuc.domain.entity.base.PooledIdGenerator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Moves every {@code <table>_seq} past the ids already in its table before the first insert. Tables
+ * created while the entity used IDENTITY keep their rows, and {@code ddl-auto} starts a new sequence
+ * table at 1.
+ */
+@Component
+public class PooledIdSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledIdSeeder.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PooledIdSeeder(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (EntityPersister persister : sessionFactory.getMetamodel().entityPersisters().values()) {
+            if (persister.getIdentifierGenerator() instanceof PooledIdGenerator generator
+                    && jdbcTemplate.update(generator.seedSql()) > 0) {
+                log.info("Moved the id sequence of {} past its existing ids", persister.getEntityName());
+            }
+        }
+    }
+}
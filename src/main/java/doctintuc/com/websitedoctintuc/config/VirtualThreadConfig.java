@@ -0,0 +1,69 @@
+package doctintuc.com.websitedoctintuc.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.*;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual thread mode, enabled with {@code server.virtual-threads.enabled=true} or the
+ * {@code virtual-threads} profile. Tomcat request handling and the application task executor
+ * (MVC async requests, @Async) then run one virtual thread per task instead of a bounded pool,
+ * and the number of concurrent database calls is bounded by the Hikari pool instead.
+ * <p>
+ * Virtual threads need Java 21; on older runtimes a warning is logged and the platform thread
+ * pools stay in place. The code is built for Java 17, so the executor is created reflectively.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.virtual-threads.enabled", havingValue = "true")
+@Conditional(VirtualThreadConfig.VirtualThreadsAvailable.class)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() throws ReflectiveOperationException {
+        log.info("Virtual thread mode enabled on Java {}", Runtime.version().feature());
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    static class VirtualThreadsAvailable implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            if (!context.getEnvironment().getProperty("server.virtual-threads.enabled", Boolean.class, false)) {
+                return false;
+            }
+            try {
+                Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return true;
+            } catch (NoSuchMethodException e) {
+                log.warn("Virtual threads need Java 21, running on Java {} with platform thread pools",
+                        Runtime.version().feature());
+                return false;
+            }
+        }
+    }
+}
@@ -2,8 +2,11 @@ package doctintuc.com.websitedoctintuc.config.security;
 
 import doctintuc.com.websitedoctintuc.application.filter.AuthEntryPointJwt;
 import doctintuc.com.websitedoctintuc.application.filter.AuthTokenFilter;
+import doctintuc.com.websitedoctintuc.application.metrics.TimedPasswordEncoder;
 import doctintuc.com.websitedoctintuc.application.service.user_detail.UserDetailService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,10 +36,12 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private AuthEntryPointJwt authEntryPointJwt;
     @Autowired
     private UserDetailService userDetailService;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Override
@@ -46,10 +51,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
                 .exceptionHandling().authenticationEntryPoint(authEntryPointJwt).and()
                 .authorizeRequests()
+                //Matches /actuator/health and /actuator/prometheus on any port, safe because the actuator is only
+                //served on management.server.port, which is kept off the public network
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                 .antMatchers("/api/v1/admin/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_SUPER_ADMIN")
                 .antMatchers("/api/v1/both/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN", "ROLE_SUPER_ADMIN")
                 .antMatchers("/api/v1/user/**").hasRole("USER")
-                .antMatchers("/api/v1/no-auth/**").permitAll().
+                .antMatchers("/api/v1/no-auth/**").permitAll()
+                .antMatchers("/api/v2/no-auth/**").permitAll().
                 anyRequest().authenticated()
                 .and().addFilterBefore(authTokenFilter(), UsernamePasswordAuthenticationFilter.class).
                 csrf().disable().cors().configurationSource(new CorsConfigurationSource() {
@@ -89,7 +98,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setUserDetailsService(userDetailService);
-        daoAuthenticationProvider.setPasswordEncoder(new BCryptPasswordEncoder());
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder());
         return daoAuthenticationProvider;
     }
 
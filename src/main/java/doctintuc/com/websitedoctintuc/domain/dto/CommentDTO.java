@@ -7,4 +7,5 @@ import lombok.Setter;
 @Setter
 public class CommentDTO {
     private String comment;
+    private String image;
 }
@@ -0,0 +1,28 @@
+package doctintuc.com.websitedoctintuc.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Read model for the comments of a news, with only the public fields of the author.
+ * A comment that was accepted but not written yet has no id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CommentView {
+    private Integer id;
+    private String content;
+    private String image;
+    private Integer userId;
+    private String fullName;
+    private String avatar;
+    private Date createDate;
+}
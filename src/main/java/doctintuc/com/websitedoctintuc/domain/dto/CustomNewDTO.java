@@ -1,7 +1,6 @@
 package doctintuc.com.websitedoctintuc.domain.dto;
 
 import doctintuc.com.websitedoctintuc.domain.entity.Category;
-import doctintuc.com.websitedoctintuc.domain.entity.News;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,9 +14,11 @@ import java.util.List;
 @AllArgsConstructor
 public class CustomNewDTO {
 
-    private List<News> newsList;
+    private List<NewsSummary> newsList;
 
     private Category category;
 
     private int totalPage;
+
+    private long totalElements;
 }
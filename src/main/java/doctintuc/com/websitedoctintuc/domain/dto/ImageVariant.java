@@ -0,0 +1,17 @@
+package doctintuc.com.websitedoctintuc.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One resized copy of an uploaded image.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariant {
+    private int width;
+    private int height;
+    private String url;
+}
@@ -16,5 +16,6 @@ public class NewsDTO {
     private String author;
     private String description;
     private String thumbnail;
+    private String thumbnailSrcset;
     private int categoryId;
 }
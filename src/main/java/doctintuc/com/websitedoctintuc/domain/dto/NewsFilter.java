@@ -0,0 +1,37 @@
+package doctintuc.com.websitedoctintuc.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Criteria of the category page, every field set is combined with AND.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NewsFilter {
+    private Integer categoryId;
+    //Prefix of the author name
+    private String author;
+    //Part of the title
+    private String title;
+    private Date fromDate;
+    //Inclusive, the whole day is matched
+    private Date toDate;
+    //ASC or DESC on create date, ASC when empty
+    private String sort;
+
+    /**
+     * Key of the filter for cached counts, the sort direction does not change the count.
+     */
+    public String signature() {
+        return categoryId + "|" + author + "|" + title + "|"
+                + (fromDate == null ? null : fromDate.getTime()) + "|"
+                + (toDate == null ? null : toDate.getTime());
+    }
+}
@@ -0,0 +1,39 @@
+package doctintuc.com.websitedoctintuc.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NewsImportReport {
+
+    private int total;
+
+    private int created;
+
+    private int rejected;
+
+    private long elapsedMillis;
+
+    //Set when the body could not be read to the end, the items before it are reported as usual
+    private String error;
+
+    private List<NewsImportResult> items = new ArrayList<>();
+
+    public void add(NewsImportResult result) {
+        items.add(result);
+        total++;
+        if (result.getStatus() == NewsImportResult.Status.CREATED) {
+            created++;
+        } else {
+            rejected++;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package doctintuc.com.websitedoctintuc.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Read model for news listings, everything but the content column.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NewsSummary {
+    private Integer id;
+    private String title;
+    private String description;
+    private String thumbnail;
+    private String thumbnailSrcset;
+    private String author;
+    private int view;
+    private Integer categoryId;
+    private String categoryName;
+    private Date createDate;
+
+    public NewsSummary(Integer id, String title, String description, String thumbnail, String author, int view,
+                       Integer categoryId, String categoryName, Date createDate) {
+        this(id, title, description, thumbnail, null, author, view, categoryId, categoryName, createDate);
+    }
+}
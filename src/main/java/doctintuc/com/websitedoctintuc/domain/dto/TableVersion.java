@@ -0,0 +1,13 @@
+package doctintuc.com.websitedoctintuc.domain.dto;
+
+import java.util.Date;
+
+/**
+ * Row count and latest modification of a table, changes whenever a row is added, updated or deleted.
+ */
+public interface TableVersion {
+
+    long getRows();
+
+    Date getLastModified();
+}
@@ -0,0 +1,73 @@
+package doctintuc.com.websitedoctintuc.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * State of one asynchronous image upload, polled by its id until it is {@code DONE} or {@code FAILED}.
+ * Only the upload worker changes it.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UploadJob {
+
+    public enum Status {
+        QUEUED, UPLOADING, DONE, FAILED
+    }
+
+    private final String id;
+    private final String fileName;
+    private final long size;
+    private final Date createDate;
+    private volatile Status status = Status.QUEUED;
+    private volatile int attempts;
+    private volatile String url;
+    private volatile List<ImageVariant> variants;
+    //Ready for the srcset attribute and NewsDTO.thumbnailSrcset, null when the image has no variants
+    private volatile String srcset;
+    private volatile String message;
+    private volatile Date updateDate;
+
+    public UploadJob(String id, String fileName, long size) {
+        this.id = id;
+        this.fileName = fileName;
+        this.size = size;
+        this.createDate = new Date();
+        this.updateDate = createDate;
+    }
+
+    public void uploading(int attempt) {
+        this.status = Status.UPLOADING;
+        this.attempts = attempt;
+        this.updateDate = new Date();
+    }
+
+    public void done(String url, List<ImageVariant> variants) {
+        this.url = url;
+        if (!variants.isEmpty()) {
+            this.variants = variants;
+            this.srcset = variants.stream()
+                    .map(variant -> variant.getUrl() + " " + variant.getWidth() + "w")
+                    .collect(Collectors.joining(", "));
+        }
+        this.message = null;
+        this.status = Status.DONE;
+        this.updateDate = new Date();
+    }
+
+    public void failed(String message) {
+        this.message = message;
+        this.status = Status.FAILED;
+        this.updateDate = new Date();
+    }
+
+    public void retrying(String message) {
+        this.message = message;
+        this.status = Status.QUEUED;
+        this.updateDate = new Date();
+    }
+}
@@ -16,7 +16,7 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "categories")
+@Table(name = "categories", indexes = @Index(name = "idx_categories_create_date_id", columnList = "create_date, id"))
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Category extends AbstractBase {
 
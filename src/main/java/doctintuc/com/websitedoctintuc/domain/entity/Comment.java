@@ -3,7 +3,7 @@ package doctintuc.com.websitedoctintuc.domain.entity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import doctintuc.com.websitedoctintuc.domain.entity.base.AbstractBase;
+import doctintuc.com.websitedoctintuc.domain.entity.base.AbstractPooledBase;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,9 +15,9 @@ import javax.persistence.*;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "commnents")
-
-public class Comment extends AbstractBase {
+@Table(name = "commnents", indexes = @Index(name = "idx_commnents_news_create_date_id",
+        columnList = "news_id, create_date, id"))
+public class Comment extends AbstractPooledBase {
 
     @Column(name = "content")
     private String content;
@@ -31,8 +31,9 @@ public class Comment extends AbstractBase {
     private User user;
 
 
+    //Never serialized, the page of comments of a news does not need it loaded
     @JsonBackReference
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "news_id", referencedColumnName = "id")
     private News news;
 
@@ -2,7 +2,7 @@ package doctintuc.com.websitedoctintuc.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import doctintuc.com.websitedoctintuc.domain.entity.base.AbstractBase;
+import doctintuc.com.websitedoctintuc.domain.entity.base.AbstractPooledBase;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,9 +19,11 @@ import java.util.Objects;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "news")
+@Table(name = "news", indexes = {
+        @Index(name = "idx_news_create_date_id", columnList = "create_date, id"),
+        @Index(name = "idx_news_category_id_create_date", columnList = "category_id, create_date")})
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class News extends AbstractBase {
+public class News extends AbstractPooledBase {
 
     @NotBlank(message = "Title is not blank")
     @Column(name = "title", nullable = false, unique = true , length = 100000)
@@ -41,8 +43,13 @@ public class News extends AbstractBase {
     @Column(name = "thumbnail", nullable = false)
     private String thumbnail;
 
+    //Resized copies of the thumbnail as "url 160w, url 320w, ...", from the upload job of the image
+    @Column(name = "thumbnail_srcset", length = 2000)
+    private String thumbnailSrcset;
+
+    //Owned by NewsViewCounter, which adds flushed deltas directly to the column
     @Min(value = 0)
-    @Column(name = "view")
+    @Column(name = "view", updatable = false)
     private int view;
 
 
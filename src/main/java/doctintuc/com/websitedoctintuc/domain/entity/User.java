@@ -5,7 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
-import doctintuc.com.websitedoctintuc.domain.entity.base.AbstractBase;
+import doctintuc.com.websitedoctintuc.domain.entity.base.AbstractPooledBase;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,9 +25,9 @@ import java.util.Objects;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_create_date_id", columnList = "create_date, id"))
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public class User extends AbstractBase {
+public class User extends AbstractPooledBase {
 
     @Column(name = "full_name")
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -72,9 +72,10 @@ public class User extends AbstractBase {
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private String avatar;
 
+    //Read through CommentRepository, one page at a time
     @JsonIgnore
     @OneToMany(mappedBy = "user",
-            fetch = FetchType.EAGER,
+            fetch = FetchType.LAZY,
             cascade = CascadeType.ALL)
     private List<Comment> comments;
 
@@ -105,12 +106,11 @@ public class User extends AbstractBase {
                 Objects.equals(password, user.password) && Objects.equals(email, user.email) &&
                 Objects.equals(birthday, user.birthday) && Objects.equals(gender, user.gender) &&
                 Objects.equals(phone, user.phone) && Objects.equals(address, user.address) &&
-                Objects.equals(avatar, user.avatar) && Objects.equals(comments, user.comments) &&
-                Objects.equals(role, user.role);
+                Objects.equals(avatar, user.avatar) && Objects.equals(role, user.role);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(fullName, username, password, email, birthday, gender, phone, address, avatar, comments, role);
+        return Objects.hash(fullName, username, password, email, birthday, gender, phone, address, avatar, role);
     }
 }
@@ -6,12 +6,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.persistence.*;
+import java.sql.Timestamp;
 
 @Entity
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(name = "usernews", indexes = @Index(name = "idx_usernews_user_id_watched_at", columnList = "user_id, watched_at"))
 public class UserNews {
 
     @EmbeddedId
@@ -26,4 +28,7 @@ public class UserNews {
     @MapsId("newsId")
     @JoinColumn(name = "news_id")
     private News news;
+
+    @Column(name = "watched_at")
+    private Timestamp watchedAt;
 }
@@ -0,0 +1,44 @@
+package doctintuc.com.websitedoctintuc.domain.entity.base;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.LastModifiedBy;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+/**
+ * Audit columns shared by every entity. The id and how it is generated come from {@link AbstractBase}
+ * (IDENTITY) or {@link AbstractPooledBase} (pooled, batchable inserts).
+ */
+@MappedSuperclass
+@Setter
+@Getter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public abstract class AbstractAuditBase implements Serializable {
+
+    private static final long serializableUID = 1L;
+
+    @CreationTimestamp
+    @Column(name = "create_date",  length = 50, updatable = false)
+    protected Timestamp createDate;
+
+    @CreatedBy
+    @Column(name = "create_by", nullable = true)
+    private String createBy;
+
+    @UpdateTimestamp
+    @Column(name = "last_modified_date")
+    protected Timestamp updateDate;
+
+    @LastModifiedBy
+    @Column(name = "last_modified_by")
+    private String lastModifiedBy;
+}
@@ -0,0 +1,27 @@
+package doctintuc.com.websitedoctintuc.domain.entity.base;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.GenericGenerator;
+
+import javax.persistence.*;
+
+/**
+ * Ids from {@link PooledIdGenerator}, known before the insert, so Hibernate batches the inserts
+ * ({@code hibernate.jdbc.batch_size}). Each entity gets its own {@code <table>_seq} table.
+ */
+@MappedSuperclass
+@Setter
+@Getter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public abstract class AbstractPooledBase extends AbstractAuditBase {
+
+    @Id
+    @GeneratedValue(generator = "pooled-id")
+    @GenericGenerator(name = "pooled-id", strategy = PooledIdGenerator.STRATEGY)
+    @Column(name = "id")
+    protected Integer id;
+}
@@ -0,0 +1,51 @@
+package doctintuc.com.websitedoctintuc.domain.entity.base;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Ids handed out in blocks from a {@code <table>_seq} table (MySQL has no sequences), with the pooled-lo
+ * optimizer: one round trip to the table per {@code increment_size} ids instead of one IDENTITY insert per
+ * row, so Hibernate can delay and batch the inserts. Selected per entity by
+ * extending {@link AbstractPooledBase} instead of {@link AbstractBase}.
+ */
+public class PooledIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "doctintuc.com.websitedoctintuc.domain.entity.base.PooledIdGenerator";
+
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    private String targetTable;
+
+    private String targetColumn;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        targetTable = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        targetColumn = params.getProperty(PersistentIdentifierGenerator.PK);
+        Properties pooled = new Properties();
+        pooled.putAll(params);
+        pooled.putIfAbsent(SEQUENCE_PARAM, targetTable + "_seq");
+        pooled.putIfAbsent(INCREMENT_PARAM, String.valueOf(DEFAULT_INCREMENT_SIZE));
+        pooled.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        //Same table on every database, so the seed statement below works on H2 as well
+        pooled.putIfAbsent(FORCE_TBL_PARAM, "true");
+        super.configure(type, pooled, serviceRegistry);
+    }
+
+    /**
+     * Moves the next block past the ids already in the table, for tables filled while the entity still
+     * used IDENTITY. Does nothing when the sequence is already ahead.
+     */
+    public String seedSql() {
+        String maxId = "(SELECT COALESCE(MAX(" + targetColumn + "), 0) FROM " + targetTable + ")";
+        return "UPDATE " + getDatabaseStructure().getName() + " SET " + DEF_VALUE_COLUMN + " = " + maxId + " + 1"
+                + " WHERE " + DEF_VALUE_COLUMN + " <= " + maxId;
+    }
+}
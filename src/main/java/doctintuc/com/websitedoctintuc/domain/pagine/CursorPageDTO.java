@@ -0,0 +1,45 @@
+package doctintuc.com.websitedoctintuc.domain.pagine;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import doctintuc.com.websitedoctintuc.config.exception.VsException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CursorPageDTO<T> {
+    private List<T> pageData;
+    private Integer size;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    /**
+     * Builds a page from a query that fetched {@code size + 1} rows, the extra row only tells there is a next page.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, Date> createDate, Function<T, Integer> id) {
+        checkSize(size);
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, size, null);
+        }
+        List<T> pageData = rows.subList(0, size);
+        T last = pageData.get(size - 1);
+        return new CursorPageDTO<>(pageData, size, PageCursor.encode(createDate.apply(last), id.apply(last)));
+    }
+
+    /**
+     * Rejects a page size the scroll queries can not take, checked before the {@code size + 1} limit is built.
+     */
+    public static void checkSize(Integer size) {
+        if (size == null || size < 1 || size > CommonConstant.MAX_SCROLL_SIZE) {
+            throw new VsException(String.format(DevMessageConstant.Common.SIZE_INVALID, CommonConstant.MAX_SCROLL_SIZE, size));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package doctintuc.com.websitedoctintuc.domain.pagine;
+
+import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
+import doctintuc.com.websitedoctintuc.config.exception.VsException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque keyset position on (create_date, id). The timestamp keeps its nanos because
+ * create_date is stored with microsecond precision.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private Timestamp createDate;
+
+    private Integer id;
+
+    public static String encode(Date createDate, Integer id) {
+        if (createDate == null || id == null) {
+            return null;
+        }
+        int nanos = createDate instanceof Timestamp timestamp ? timestamp.getNanos()
+                : (int) Math.floorMod(createDate.getTime(), 1000) * 1000000;
+        long seconds = Math.floorDiv(createDate.getTime(), 1000);
+        String raw = seconds + ":" + nanos + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            Timestamp createDate = new Timestamp(Long.parseLong(parts[0]) * 1000);
+            createDate.setNanos(Integer.parseInt(parts[1]));
+            return new PageCursor(createDate, Integer.parseInt(parts[2]));
+        } catch (RuntimeException e) {
+            throw new VsException(String.format(DevMessageConstant.Common.CURSOR_INVALID, cursor));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package doctintuc.com.websitedoctintuc.domain.pagine;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import org.springframework.data.domain.Page;
 
@@ -12,4 +13,12 @@ public class PaginateDTO<T> {
     private List<T> pageData;
     private Integer currentPage;
     private Integer totalPage;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    public PaginateDTO(List<T> pageData, Integer currentPage, Integer totalPage) {
+        this.pageData = pageData;
+        this.currentPage = currentPage;
+        this.totalPage = totalPage;
+    }
 }
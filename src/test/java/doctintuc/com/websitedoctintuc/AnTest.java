@@ -1,9 +1,10 @@
 package doctintuc.com.websitedoctintuc;
 
+import doctintuc.com.websitedoctintuc.application.cache.PrincipalCache;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
 import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
 import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
 import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
-import doctintuc.com.websitedoctintuc.application.repository.RoleRepository;
 import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
 import doctintuc.com.websitedoctintuc.application.service.impl.UserServiceImpl;
 import doctintuc.com.websitedoctintuc.config.exception.VsException;
@@ -31,11 +32,14 @@ public class AnTest { // Khai báo lớp test cho lớp `UserServiceImpl`.
     private UserRepository userRepository; // Khai báo mock cho UserRepository để giả lập hành vi của repository.
 
     @Mock
-    private RoleRepository roleRepository; // Khai báo mock cho RoleRepository.
+    private ReferenceData referenceData; // Khai báo mock cho ReferenceData (danh mục và vai trò).
 
     @Mock
     private JwtUtils jwtUtils; // Khai báo mock cho JwtUtils (chức năng xử lý token JWT).
 
+    @Mock
+    private PrincipalCache principalCache; // Khai báo mock cho PrincipalCache (cache principal đã xác thực).
+
     @InjectMocks
     private UserServiceImpl userServiceImpl; // Khai báo đối tượng `userServiceImpl` sẽ được inject các mock vào.
 
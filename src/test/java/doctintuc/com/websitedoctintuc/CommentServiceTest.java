@@ -0,0 +1,115 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.cache.CommentThreadCache;
+import doctintuc.com.websitedoctintuc.application.cache.PrincipalCache;
+import doctintuc.com.websitedoctintuc.application.comment.CommentWriter;
+import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
+import doctintuc.com.websitedoctintuc.application.repository.CommentRepository;
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
+import doctintuc.com.websitedoctintuc.application.service.impl.CommentServiceImpl;
+import doctintuc.com.websitedoctintuc.config.exception.VsException;
+import doctintuc.com.websitedoctintuc.domain.entity.Comment;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import doctintuc.com.websitedoctintuc.domain.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentServiceTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private NewsRepository newsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private CommentWriter commentWriter;
+
+    @Mock
+    private CommentThreadCache threadCache;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @InjectMocks
+    private CommentServiceImpl commentService;
+
+    private Comment comment;
+
+    @BeforeEach
+    public void setUp() {
+        User author = new User();
+        author.setId(1);
+        News news = new News();
+        news.setId(7);
+        comment = new Comment("Bình luận", null, author, news);
+        comment.setId(3);
+        lenient().when(commentRepository.findById(3)).thenReturn(Optional.of(comment));
+        lenient().when(request.getHeader("Authorization")).thenReturn("Bearer token");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testDelete_AdminDeletesCommentOfAnotherUser() {
+        signIn("admin", 2, "ROLE_ADMIN");
+
+        commentService.delete(3, request);
+
+        verify(commentRepository).delete(comment);
+        verify(threadCache).invalidate(7);
+    }
+
+    @Test
+    public void testDelete_OtherUserIsRejected() {
+        signIn("user2", 2, "ROLE_USER");
+
+        assertThrows(VsException.class, () -> commentService.delete(3, request));
+        verify(commentRepository, never()).delete(any(Comment.class));
+    }
+
+    @Test
+    public void testScrollComments_SizeOutOfRange() {
+        assertThrows(VsException.class, () -> commentService.scrollComments(7, null, 0));
+        assertThrows(VsException.class, () -> commentService.scrollComments(7, null, -1));
+        assertThrows(VsException.class, () -> commentService.scrollComments(7, "cursor", 1000));
+        verifyNoInteractions(commentRepository, threadCache);
+    }
+
+    private void signIn(String username, int userId, String role) {
+        when(jwtUtils.getUserByToken("token")).thenReturn(username);
+        when(principalCache.userId(eq(username), any())).thenReturn(userId);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList(role)));
+    }
+}
@@ -0,0 +1,132 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.cache.CommentThreadCache;
+import doctintuc.com.websitedoctintuc.application.comment.CommentWriter;
+import doctintuc.com.websitedoctintuc.domain.dto.CommentView;
+import doctintuc.com.websitedoctintuc.domain.entity.Comment;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import doctintuc.com.websitedoctintuc.domain.entity.User;
+import doctintuc.com.websitedoctintuc.domain.pagine.CursorPageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentWriterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommentThreadCache threadCache;
+
+    private CommentWriter commentWriter;
+
+    private final List<Comment> persisted = new ArrayList<>();
+
+    private final List<Comment> written = new ArrayList<>();
+
+    private int flushes;
+
+    @BeforeEach
+    public void setUp() {
+        threadCache = new CommentThreadCache(10, 60000, 2);
+        commentWriter = new CommentWriter(entityManager, transactionManager, threadCache, 3, 2);
+        lenient().when(entityManager.getReference(eq(User.class), any())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setId(invocation.getArgument(1));
+            return user;
+        });
+        lenient().when(entityManager.getReference(eq(News.class), any())).thenAnswer(invocation -> {
+            News news = new News();
+            news.setId(invocation.getArgument(1));
+            return news;
+        });
+        lenient().doAnswer(invocation -> persisted.add(invocation.getArgument(0))).when(entityManager).persist(any(Comment.class));
+        lenient().doAnswer(invocation -> {
+            flushes++;
+            for (Comment comment : persisted) {
+                if (comment.getNews().getId() == 404) {
+                    throw new PersistenceException("Cannot add or update a child row");
+                }
+            }
+            return null;
+        }).when(entityManager).flush();
+        lenient().doAnswer(invocation -> {
+            written.addAll(persisted);
+            persisted.clear();
+            return null;
+        }).when(transactionManager).commit(any());
+        lenient().doAnswer(invocation -> {
+            persisted.clear();
+            return null;
+        }).when(transactionManager).rollback(any());
+    }
+
+    @Test
+    public void testEnqueue_RejectsWhenFullAndCountsPending() {
+        assertTrue(commentWriter.enqueue(1, 7, "Một", null, "user1"));
+        assertTrue(commentWriter.enqueue(2, 7, "Hai", null, "user2"));
+        assertTrue(commentWriter.enqueue(1, 8, "Ba", null, "user1"));
+        assertFalse(commentWriter.enqueue(3, 7, "Bốn", null, "user3"));
+
+        assertEquals(2, threadCache.pending(7));
+        assertEquals(12, threadCache.count(7, newsId -> 10L));
+        assertEquals(1L, commentWriter.stats().get("rejectedComments"));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    public void testFlush_BatchesAndInvalidatesThreadOfNews() {
+        CursorPageDTO<CommentView> cached = new CursorPageDTO<>(Collections.emptyList(), 2, null);
+        threadCache.firstPage(7, 2, newsId -> cached);
+        threadCache.count(7, newsId -> 0L);
+        commentWriter.enqueue(1, 7, "Một", "a.png", "user1");
+        commentWriter.enqueue(2, 7, "Hai", null, "user2");
+        commentWriter.enqueue(1, 8, "Ba", null, "user1");
+
+        commentWriter.flush();
+
+        assertEquals(3, written.size());
+        assertEquals("user1", written.get(0).getCreateBy());
+        assertEquals(2, written.get(1).getUser().getId());
+        //Batches of two
+        assertEquals(2, flushes);
+        assertEquals(0, threadCache.pending(7));
+        assertEquals(0, threadCache.pending(8));
+        assertNotSame(cached, threadCache.firstPage(7, 2, newsId -> new CursorPageDTO<>()));
+        assertEquals(2, threadCache.count(7, newsId -> 2L));
+        assertEquals(0, commentWriter.queueDepth());
+    }
+
+    @Test
+    public void testFlush_FailedBatchRetriesOneByOneAndDrops() {
+        commentWriter.enqueue(1, 404, "Mất", null, "user1");
+        commentWriter.enqueue(2, 7, "Còn", null, "user2");
+
+        commentWriter.flush();
+
+        assertEquals(1, written.size());
+        assertEquals("Còn", written.get(0).getContent());
+        //The batch, then each comment on its own
+        assertEquals(3, flushes);
+        assertEquals(1L, commentWriter.stats().get("failedComments"));
+        assertEquals(0, threadCache.pending(404));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+}
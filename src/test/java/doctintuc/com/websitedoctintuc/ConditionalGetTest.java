@@ -0,0 +1,148 @@
+package doctintuc.com.websitedoctintuc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import doctintuc.com.websitedoctintuc.adapter.web.rest.impl.CategoryResourceImpl;
+import doctintuc.com.websitedoctintuc.adapter.web.rest.impl.NewsResourceImpl;
+import doctintuc.com.websitedoctintuc.application.cache.HttpCachePolicy;
+import doctintuc.com.websitedoctintuc.application.cache.PayloadCache;
+import doctintuc.com.websitedoctintuc.application.service.ICategoryService;
+import doctintuc.com.websitedoctintuc.application.service.INewsService;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
+import doctintuc.com.websitedoctintuc.domain.dto.TableVersion;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConditionalGetTest {
+
+    @Mock
+    private INewsService newsService;
+
+    @Mock
+    private ICategoryService categoryService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        HttpCachePolicy httpCachePolicy = new HttpCachePolicy(30, 60);
+        PayloadCache payloadCache = new PayloadCache(new ObjectMapper(), 10, 60000, 0);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new NewsResourceImpl(newsService, httpCachePolicy, payloadCache),
+                new CategoryResourceImpl(categoryService, httpCachePolicy, payloadCache)).build();
+    }
+
+    @Test
+    public void testGetNews_NotModifiedSkipsLoadingNews() throws Exception {
+        Timestamp updateDate = new Timestamp(1_700_000_000_000L);
+        when(newsService.getLastModified(1)).thenReturn(updateDate);
+        when(newsService.get(1)).thenReturn(new News(1, "Tin tức", "Nội dung", "An", "Mô tả", "a.png", 0));
+
+        MvcResult first = mockMvc.perform(get("/api/v1/no-auth/get-news/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, public, s-maxage=60"))
+                .andReturn();
+        List<String> eTags = first.getResponse().getHeaders(HttpHeaders.ETAG);
+        assertEquals(1, eTags.size());
+
+        mockMvc.perform(get("/api/v1/no-auth/get-news/1").header(HttpHeaders.IF_NONE_MATCH, eTags.get(0)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, public, s-maxage=60"));
+        mockMvc.perform(get("/api/v1/no-auth/get-news/1")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+        verify(newsService, times(1)).get(1);
+    }
+
+    @Test
+    public void testGetNews_ServesCachedGzipPayload() throws Exception {
+        when(newsService.getLastModified(1)).thenReturn(new Timestamp(1_700_000_000_000L));
+        when(newsService.get(1)).thenReturn(new News(1, "Tin tức", "Nội dung", "An", "Mô tả", "a.png", 0));
+
+        mockMvc.perform(get("/api/v1/no-auth/get-news/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.data.title").value("Tin tức"));
+        MvcResult gzipped = mockMvc.perform(get("/api/v1/no-auth/get-news/1")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        mockMvc.perform(get("/api/v1/no-auth/get-news/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray())).readAllBytes();
+        assertTrue(new String(body, StandardCharsets.UTF_8).contains("\"title\":\"Tin tức\""));
+        verify(newsService, times(1)).get(1);
+    }
+
+    @Test
+    public void testGetFavoriteNews_ETagFollowsContent() throws Exception {
+        NewsSummary summary = new NewsSummary(1, "Tin tức", null, "a.png", "An", 10, 2, "Thời sự", new Date(0));
+        when(newsService.getFavoriteNews()).thenReturn(List.of(summary));
+
+        String eTag = mockMvc.perform(get("/api/v1/no-auth/favorite-new"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/v1/no-auth/favorite-new").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        summary.setView(11);
+        mockMvc.perform(get("/api/v1/no-auth/favorite-new").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].view").value(11));
+    }
+
+    @Test
+    public void testGetLeastNews_NotModifiedWithoutBody() throws Exception {
+        NewsSummary summary = new NewsSummary(1, "Tin tức", null, "a.png", "An", 0, 2, "Thời sự", new Date(0));
+        when(newsService.getLeastNews()).thenReturn(List.of(summary));
+
+        String eTag = mockMvc.perform(get("/api/v1/no-auth/least-new"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/v1/no-auth/least-new").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, public, s-maxage=60"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testGetAllCategory_NotModifiedSkipsQuery() throws Exception {
+        TableVersion version = mock(TableVersion.class);
+        when(version.getRows()).thenReturn(3L);
+        when(version.getLastModified()).thenReturn(new Date(1_700_000_000_000L));
+        when(categoryService.categoryVersion()).thenReturn(version);
+        when(categoryService.searchAllCategory()).thenReturn(Collections.emptyList());
+
+        String eTag = mockMvc.perform(get("/api/v1/no-auth/search-category"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/v1/no-auth/search-category").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        verify(categoryService, times(1)).searchAllCategory();
+    }
+}
@@ -1,9 +1,10 @@
 package doctintuc.com.websitedoctintuc;
 
+import doctintuc.com.websitedoctintuc.application.cache.PrincipalCache;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
 import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
 import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
 import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
-import doctintuc.com.websitedoctintuc.application.repository.RoleRepository;
 import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
 import doctintuc.com.websitedoctintuc.application.service.impl.UserServiceImpl;
 import doctintuc.com.websitedoctintuc.config.exception.VsException;
@@ -32,11 +33,14 @@ public class DungTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private ReferenceData referenceData;
 
     @Mock
     private JwtUtils jwtUtils;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserServiceImpl userServiceImpl;
 
@@ -76,7 +80,7 @@ public class DungTest {
         when(userRepository.existsByUsername(accountDTO.getUsername())).thenReturn(false);
         when(jwtUtils.getUserByToken(anyString())).thenReturn(mockUser.getUsername());
         when(userRepository.findByUsername(mockUser.getUsername())).thenReturn(mockUser);
-        when(roleRepository.findRoleByRoleName(EnumRole.ROLE_ADMIN)).thenReturn(adminRole);
+        when(referenceData.role(EnumRole.ROLE_ADMIN)).thenReturn(adminRole);
 
         // Mock Authorization header
         HttpServletRequest request = mock(HttpServletRequest.class);
@@ -95,7 +99,7 @@ public class DungTest {
     public void testCreate_Success_User() {
         // Mô phỏng dữ liệu
         when(userRepository.existsByUsername(accountDTO.getUsername())).thenReturn(false);
-        when(roleRepository.findRoleByRoleName(EnumRole.ROLE_USER)).thenReturn(userRole);
+        when(referenceData.role(EnumRole.ROLE_USER)).thenReturn(userRole);
 
         // Mock Authorization header không hợp lệ
         HttpServletRequest request = mock(HttpServletRequest.class);
@@ -137,7 +141,7 @@ public class DungTest {
 
         // Mock dữ liệu
         when(userRepository.existsByUsername(accountDTO.getUsername())).thenReturn(false);
-        when(roleRepository.findRoleByRoleName(EnumRole.ROLE_USER)).thenReturn(userRole);
+        when(referenceData.role(EnumRole.ROLE_USER)).thenReturn(userRole);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         when(request.getHeader("Authorization")).thenReturn(null);
@@ -153,7 +157,7 @@ public class DungTest {
     public void testCreate_ExceptionWhileSaving() {
         // Mô phỏng dữ liệu: phát sinh ngoại lệ khi lưu User
         when(userRepository.existsByUsername(accountDTO.getUsername())).thenReturn(false);
-        when(roleRepository.findRoleByRoleName(EnumRole.ROLE_USER)).thenReturn(userRole);
+        when(referenceData.role(EnumRole.ROLE_USER)).thenReturn(userRole);
         when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("Database error"));
 
         HttpServletRequest request = mock(HttpServletRequest.class);
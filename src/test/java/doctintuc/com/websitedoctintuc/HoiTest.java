@@ -3,11 +3,16 @@ package doctintuc.com.websitedoctintuc;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import doctintuc.com.websitedoctintuc.application.cache.NewsReadCache;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
 import doctintuc.com.websitedoctintuc.application.constants.DevMessageConstant;
 import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
 import doctintuc.com.websitedoctintuc.application.repository.CategoryRepository;
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
 import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
+import doctintuc.com.websitedoctintuc.application.search.NewsSearchIndex;
 import doctintuc.com.websitedoctintuc.application.service.impl.CategoryServiceImpl;
+import doctintuc.com.websitedoctintuc.application.trending.TrendingRanking;
 import doctintuc.com.websitedoctintuc.domain.dto.CategoryDTO;
 import doctintuc.com.websitedoctintuc.domain.entity.Category;
 import doctintuc.com.websitedoctintuc.domain.entity.User;
@@ -46,6 +51,21 @@ public class HoiTest {
     @Mock
     private HttpServletRequest request;
 
+    @Mock
+    private ReferenceData referenceData;
+
+    @Mock
+    private NewsRepository newsRepository;
+
+    @Mock
+    private NewsReadCache newsReadCache;
+
+    @Mock
+    private NewsSearchIndex searchIndex;
+
+    @Mock
+    private TrendingRanking trendingRanking;
+
     @InjectMocks
     private CategoryServiceImpl categoryServiceImpl;
 
@@ -123,6 +143,7 @@ public class HoiTest {
     public void testDeleteCategory() {
         // Mock dữ liệu
         when(categoryRepository.existsById(1)).thenReturn(true);
+        when(newsRepository.findIdsByCategoryId(1)).thenReturn(List.of(7, 8));
         doNothing().when(categoryRepository).deleteById(1);
 
         // Thực thi phương thức delete
@@ -131,6 +152,11 @@ public class HoiTest {
         // Kiểm tra kết quả
         assertEquals(DevMessageConstant.Common.NOTIFICATION_DELETE_SUCCESS, result);
         verify(categoryRepository, times(1)).deleteById(1);
+        // Tin của danh mục bị xóa theo cascade, không còn trong trending, tìm kiếm và cache
+        verify(trendingRanking).remove(7);
+        verify(trendingRanking).remove(8);
+        verify(searchIndex).remove(8);
+        verify(newsReadCache).invalidateAll();
     }
 
     @Test
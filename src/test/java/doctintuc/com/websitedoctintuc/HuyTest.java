@@ -1,10 +1,16 @@
 package doctintuc.com.websitedoctintuc;
 
+import doctintuc.com.websitedoctintuc.application.cache.NewsReadCache;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
 import doctintuc.com.websitedoctintuc.application.constants.CommonConstant;
-import doctintuc.com.websitedoctintuc.application.repository.CategoryRepository;
+import doctintuc.com.websitedoctintuc.application.counter.NewsViewCounter;
 import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
 import doctintuc.com.websitedoctintuc.application.service.impl.NewsServiceImpl;
+import doctintuc.com.websitedoctintuc.application.trending.TrendingRanking;
+import doctintuc.com.websitedoctintuc.config.exception.VsException;
 import doctintuc.com.websitedoctintuc.domain.dto.CustomNewDTO;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsFilter;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
 import doctintuc.com.websitedoctintuc.domain.entity.Category;
 import doctintuc.com.websitedoctintuc.domain.entity.News;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,16 +18,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class HuyTest {
@@ -30,7 +40,16 @@ public class HuyTest {
     private NewsRepository newsRepository;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private ReferenceData referenceData;
+
+    @Mock
+    private TrendingRanking trendingRanking;
+
+    @Mock
+    private NewsViewCounter viewCounter;
+
+    @Spy
+    private NewsReadCache newsReadCache = new NewsReadCache(64, 30000, 3, 1000);
 
     @InjectMocks
     private NewsServiceImpl newsService;
@@ -43,7 +62,7 @@ public class HuyTest {
     private String filter = "ASC"; // có thể thay thế bằng "DESC" hoặc null cho các trường hợp khác
 
     private Category mockCategory;
-    private News mockNews;
+    private NewsSummary mockNews;
 
     @BeforeEach
     public void setUp() {
@@ -53,30 +72,36 @@ public class HuyTest {
         mockCategory.setCategoryName("Technology");
 
         // Khởi tạo dữ liệu mẫu cho News
-        mockNews = new News();
+        mockNews = new NewsSummary();
         mockNews.setId(1);
         mockNews.setTitle("Sample News");
-        mockNews.setContent("This is a sample news content.");
         mockNews.setAuthor("John Doe");
         mockNews.setDescription("Sample Description");
         mockNews.setThumbnail("thumbnail.png");
         mockNews.setView(100);
 
-        // Mock behavior cho categoryRepository và newsRepository
-        when(categoryRepository.existsById(categoryId)).thenReturn(true);
-        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(mockCategory));
+        // Mock behavior cho referenceData và newsRepository
+        lenient().when(referenceData.category(categoryId)).thenReturn(mockCategory);
+    }
+
+    private NewsFilter newsFilter(String sort) {
+        return new NewsFilter(categoryId, author, title, null, null, sort);
+    }
+
+    private PageRequest pageRequest(Sort.Direction direction) {
+        return PageRequest.of(page, size, Sort.by(direction, CommonConstant.SORT_BY_TIME2, "id"));
     }
 
     @Test
     public void testFilterNewsByCategory_Success_SortAsc() {
         // Mô phỏng dữ liệu trả về khi filter theo category, title, author với sort ASC
-        List<News> newsList = new ArrayList<>();
+        List<NewsSummary> newsList = new ArrayList<>();
         newsList.add(mockNews);
-        when(newsRepository.filterNewsByCategory(categoryId, title, author, PageRequest.of(page, size,
-                Sort.by(CommonConstant.SORT_BY_TIME).ascending()))).thenReturn(newsList);
+        when(newsRepository.filterSummaries(any(), eq(pageRequest(Sort.Direction.ASC)))).thenReturn(newsList);
+        when(newsRepository.count(any(Specification.class))).thenReturn((long) newsList.size());
 
         // Thực thi phương thức filterNewsByCategory
-        CustomNewDTO result = newsService.filterNewsByCategory(page, size, author, title, categoryId, CommonConstant.SORT_ASC);
+        CustomNewDTO result = newsService.filterNewsByCategory(page, size, newsFilter(CommonConstant.SORT_ASC));
 
         // Kiểm tra kết quả
         assertNotNull(result);
@@ -88,13 +113,13 @@ public class HuyTest {
     @Test
     public void testFilterNewsByCategory_Success_SortDesc() {
         // Mô phỏng dữ liệu trả về khi filter theo category, title, author với sort DESC
-        List<News> newsList = new ArrayList<>();
+        List<NewsSummary> newsList = new ArrayList<>();
         newsList.add(mockNews);
-        when(newsRepository.filterNewsByCategory(categoryId, title, author, PageRequest.of(page, size,
-                Sort.by(CommonConstant.SORT_BY_TIME).descending()))).thenReturn(newsList);
+        when(newsRepository.filterSummaries(any(), eq(pageRequest(Sort.Direction.DESC)))).thenReturn(newsList);
+        when(newsRepository.count(any(Specification.class))).thenReturn((long) newsList.size());
 
         // Thực thi phương thức filterNewsByCategory
-        CustomNewDTO result = newsService.filterNewsByCategory(page, size, author, title, categoryId, CommonConstant.SORT_DESC);
+        CustomNewDTO result = newsService.filterNewsByCategory(page, size, newsFilter(CommonConstant.SORT_DESC));
 
         // Kiểm tra kết quả
         assertNotNull(result);
@@ -106,13 +131,13 @@ public class HuyTest {
     @Test
     public void testFilterNewsByCategory_NoFilter() {
         // Mô phỏng dữ liệu khi không sử dụng filter (null hoặc empty)
-        List<News> newsList = new ArrayList<>();
+        List<NewsSummary> newsList = new ArrayList<>();
         newsList.add(mockNews);
-        when(newsRepository.filterNewsByCategory(categoryId, title, author, PageRequest.of(page, size,
-                Sort.by(CommonConstant.SORT_BY_TIME).ascending()))).thenReturn(newsList);
+        when(newsRepository.filterSummaries(any(), eq(pageRequest(Sort.Direction.ASC)))).thenReturn(newsList);
+        when(newsRepository.count(any(Specification.class))).thenReturn((long) newsList.size());
 
         // Thực thi phương thức filterNewsByCategory
-        CustomNewDTO result = newsService.filterNewsByCategory(page, size, author, title, categoryId, "");
+        CustomNewDTO result = newsService.filterNewsByCategory(page, size, newsFilter(""));
 
         // Kiểm tra kết quả
         assertNotNull(result);
@@ -124,12 +149,12 @@ public class HuyTest {
     @Test
     public void testFilterNewsByCategory_EmptyResults() {
         // Mô phỏng dữ liệu trả về rỗng khi không có bài viết
-        List<News> newsList = new ArrayList<>();
-        when(newsRepository.filterNewsByCategory(categoryId, title, author, PageRequest.of(page, size,
-                Sort.by(CommonConstant.SORT_BY_TIME).ascending()))).thenReturn(newsList);
+        List<NewsSummary> newsList = new ArrayList<>();
+        when(newsRepository.filterSummaries(any(), eq(pageRequest(Sort.Direction.ASC)))).thenReturn(newsList);
+        when(newsRepository.count(any(Specification.class))).thenReturn((long) newsList.size());
 
         // Thực thi phương thức filterNewsByCategory
-        CustomNewDTO result = newsService.filterNewsByCategory(page, size, author, title, categoryId, CommonConstant.SORT_ASC);
+        CustomNewDTO result = newsService.filterNewsByCategory(page, size, newsFilter(CommonConstant.SORT_ASC));
 
         // Kiểm tra kết quả
         assertNotNull(result);
@@ -137,4 +162,60 @@ public class HuyTest {
         assertEquals(mockCategory, result.getCategory());
         assertEquals(0, result.getTotalPage());
     }
+
+    @Test
+    public void testFilterNewsByCategory_TotalFromCachedCount() {
+        // Tổng số bản ghi lấy từ câu lệnh count, không phải từ kích thước trang hiện tại
+        List<NewsSummary> newsList = new ArrayList<>();
+        newsList.add(mockNews);
+        when(newsRepository.filterSummaries(any(), eq(pageRequest(Sort.Direction.ASC)))).thenReturn(newsList);
+        when(newsRepository.count(any(Specification.class))).thenReturn(25L);
+
+        CustomNewDTO result = newsService.filterNewsByCategory(page, size, newsFilter(CommonConstant.SORT_ASC));
+        newsService.filterNewsByCategory(page, size, newsFilter(CommonConstant.SORT_ASC));
+
+        assertEquals(3, result.getTotalPage());
+        assertEquals(25L, result.getTotalElements());
+        // Lần gọi thứ hai dùng count đã cache
+        verify(newsRepository, times(1)).count(any(Specification.class));
+    }
+
+    @Test
+    public void testFilterNewsByCategory_CategoryNotFound() {
+        when(referenceData.category(2)).thenReturn(null);
+
+        assertThrows(VsException.class, () -> newsService.filterNewsByCategory(page, size,
+                new NewsFilter(2, author, title, null, null, filter)));
+    }
+
+    @Test
+    public void testScrollHomePage_SizeOutOfRange() {
+        assertThrows(VsException.class, () -> newsService.scrollHomePage(null, 0));
+        assertThrows(VsException.class, () -> newsService.scrollHomePage(null, -1));
+        assertThrows(VsException.class, () -> newsService.scrollHomePage(null, CommonConstant.MAX_SCROLL_SIZE + 1));
+        verifyNoInteractions(newsRepository);
+    }
+
+    @Test
+    public void testGetTrendingNews_NegativeSize() {
+        when(trendingRanking.topK()).thenReturn(100);
+
+        assertThrows(VsException.class, () -> newsService.getTrendingNews(null, -1));
+        verify(trendingRanking, never()).top(any(), anyInt());
+    }
+
+    @Test
+    public void testSetView_ReturnsNewsWithPendingViews() {
+        News news = new News("Sample News", "<p>Nội dung</p>", author, "Sample Description", "thumbnail.png");
+        news.setId(1);
+        news.setView(100);
+        when(newsRepository.findById(1)).thenReturn(Optional.of(news));
+        when(viewCounter.pending(1)).thenReturn(3L);
+
+        News result = newsService.setView(1);
+
+        assertEquals(103, result.getView());
+        verify(viewCounter).increment(1);
+        verify(trendingRanking).recordView(1);
+    }
 }
@@ -0,0 +1,39 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilsTest {
+
+    private final JwtUtils jwtUtils = new JwtUtils(100, 60000, new SimpleMeterRegistry());
+
+    @Test
+    public void testVerify_CachesVerifiedToken() {
+        String token = jwtUtils.generateTokenByUsername("admin");
+
+        Claims claims = jwtUtils.verify(token);
+
+        assertEquals("admin", claims.getSubject());
+        assertSame(claims, jwtUtils.verify(token));
+        assertEquals("admin", jwtUtils.getUserByToken(token));
+        assertEquals(1L, jwtUtils.stats().get("misses"));
+        assertEquals(2L, jwtUtils.stats().get("hits"));
+    }
+
+    @Test
+    public void testVerify_TamperedTokenIsRejected() {
+        String token = jwtUtils.generateTokenByUsername("admin");
+        jwtUtils.verify(token);
+        String other = jwtUtils.generateTokenByUsername("user");
+        String tampered = token.substring(0, token.indexOf('.') + 1)
+                + other.substring(other.indexOf('.') + 1, other.lastIndexOf('.'))
+                + token.substring(token.lastIndexOf('.'));
+
+        assertNull(jwtUtils.verify(tampered));
+        assertFalse(jwtUtils.validationToken(tampered));
+    }
+}
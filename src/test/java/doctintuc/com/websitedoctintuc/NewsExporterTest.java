@@ -0,0 +1,131 @@
+package doctintuc.com.websitedoctintuc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import doctintuc.com.websitedoctintuc.application.export.NewsExporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NewsExporterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private NewsExporter newsExporter;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        newsExporter = new NewsExporter(jdbcTemplate, new ObjectMapper(), 1);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+    }
+
+    @Test
+    public void testExport_WritesOneNewsPerLine() throws Exception {
+        ResultSet first = row(7, "Tin tức", 3);
+        ResultSet second = row(9, "Thể thao", null);
+        stubQuery(first, second);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long exported = newsExporter.export(5, output);
+
+        assertEquals(2, exported);
+        verify(statement).setInt(1, 5);
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode news = new ObjectMapper().readTree(lines[0]);
+        assertEquals(7, news.get("id").asInt());
+        assertEquals("Tin tức", news.get("title").asText());
+        assertEquals(3, news.get("category").get("id").asInt());
+        assertFalse(new ObjectMapper().readTree(lines[1]).has("category"));
+    }
+
+    @Test
+    public void testExportEnvelope_ListInResponseBody() throws Exception {
+        stubQuery(row(7, "Tin tức", 3), row(9, "Thể thao", null));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertEquals(2, newsExporter.exportEnvelope(output));
+        JsonNode body = new ObjectMapper().readTree(output.toString(StandardCharsets.UTF_8));
+        assertEquals("SUCCESS", body.get("status").asText());
+        assertEquals(2, body.get("data").size());
+        assertEquals(9, body.get("data").get(1).get("id").asInt());
+        verify(statement).setInt(1, 0);
+    }
+
+    @Test
+    public void testExport_FromStartWhenNoAfterId() throws Exception {
+        stubQuery();
+
+        assertEquals(0, newsExporter.export(null, new ByteArrayOutputStream()));
+        verify(statement).setInt(1, 0);
+    }
+
+    @Test
+    public void testExport_ClientDisconnectAbortsQuery() throws Exception {
+        ResultSet first = row(1, "A", null);
+        ResultSet second = mock(ResultSet.class);
+        stubQuery(first, second);
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> newsExporter.export(null, closed));
+        verifyNoInteractions(second);
+        //Killed on the server before the result set is closed and drained
+        verify(statement).cancel();
+    }
+
+    private void stubQuery(ResultSet... rows) {
+        doAnswer(invocation -> {
+            invocation.<PreparedStatementCreator>getArgument(0).createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private ResultSet row(int id, String title, Integer categoryId) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class, withSettings().lenient());
+        when(resultSet.getInt("id")).thenReturn(id);
+        when(resultSet.getString("title")).thenReturn(title);
+        when(resultSet.getString("content")).thenReturn("<p>" + title + "</p>");
+        when(resultSet.getString("thumbnail")).thenReturn("a.png");
+        when(resultSet.getInt("category_id")).thenReturn(categoryId == null ? 0 : categoryId);
+        when(resultSet.wasNull()).thenReturn(categoryId == null);
+        when(resultSet.getString("category_name")).thenReturn("Thời sự");
+        return resultSet;
+    }
+}
@@ -0,0 +1,154 @@
+package doctintuc.com.websitedoctintuc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
+import doctintuc.com.websitedoctintuc.application.ingest.NewsImporter;
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.application.upload.ImageStorage;
+import doctintuc.com.websitedoctintuc.application.upload.SrcsetValidator;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsImportReport;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsImportResult;
+import doctintuc.com.websitedoctintuc.domain.entity.Category;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NewsImporterTest {
+
+    @Mock
+    private NewsRepository newsRepository;
+
+    @Mock
+    private ReferenceData referenceData;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ImageStorage imageStorage;
+
+    private NewsImporter newsImporter;
+
+    private final List<News> indexed = new ArrayList<>();
+
+    private final List<News> persisted = new ArrayList<>();
+
+    private int nextId = 1;
+
+    private int flushes;
+
+    @BeforeEach
+    public void setUp() {
+        newsImporter = new NewsImporter(newsRepository, referenceData, entityManager, transactionManager,
+                new ObjectMapper(), new SrcsetValidator(imageStorage), 2, 100);
+        lenient().when(referenceData.category(1)).thenReturn(new Category(1, "Thời sự", null));
+        //Ids are assigned on persist, as the pooled generator does
+        lenient().doAnswer(invocation -> {
+            News news = invocation.getArgument(0);
+            news.setId(nextId++);
+            persisted.add(news);
+            return null;
+        }).when(entityManager).persist(any(News.class));
+        lenient().doAnswer(invocation -> {
+            flushes++;
+            for (News news : persisted) {
+                if ("Trùng".equals(news.getTitle())) {
+                    throw new PersistenceException("Duplicate entry 'Trùng'");
+                }
+            }
+            return null;
+        }).when(entityManager).flush();
+        //The transaction scoped persistence context ends with the transaction
+        Answer<Void> endTransaction = invocation -> {
+            persisted.clear();
+            return null;
+        };
+        lenient().doAnswer(endTransaction).when(transactionManager).commit(any());
+        lenient().doAnswer(endTransaction).when(transactionManager).rollback(any());
+    }
+
+    @Test
+    public void testImport_JsonArrayReportsEveryItem() {
+        when(newsRepository.findExistingTitles(anyCollection())).thenReturn(Set.of("Cũ"));
+
+        NewsImportReport report = newsImporter.importNews(body("[" +
+                news("Mới 1", 1) + "," + news("Cũ", 1) + "," +
+                news("Sai danh mục", 9) + "," + news("Mới 1", 1) + "," +
+                news("Mới 2", 1) + "]"), "Admin", indexed::add);
+
+        assertNull(report.getError());
+        assertEquals(5, report.getTotal());
+        assertEquals(2, report.getCreated());
+        assertEquals(List.of(NewsImportResult.Status.CREATED, NewsImportResult.Status.DUPLICATE,
+                        NewsImportResult.Status.INVALID, NewsImportResult.Status.DUPLICATE, NewsImportResult.Status.CREATED),
+                statuses(report));
+        assertEquals(4, report.getItems().get(4).getIndex());
+        assertEquals(1, report.getItems().get(0).getId());
+        assertEquals(2, report.getItems().get(4).getId());
+        assertEquals(2, indexed.size());
+        //One title query and at most one flush per chunk of two
+        verify(newsRepository, times(3)).findExistingTitles(anyCollection());
+        assertEquals(2, flushes);
+    }
+
+    @Test
+    public void testImport_NdjsonAndBatchFailureRetriesOneByOne() {
+        when(newsRepository.findExistingTitles(anyCollection())).thenReturn(Collections.emptySet());
+        NewsImportReport report = newsImporter.importNews(body(news("Trùng", 1) + "\n" + news("Mới", 1) + "\n"),
+                "Admin", indexed::add);
+
+        assertEquals(List.of(NewsImportResult.Status.FAILED, NewsImportResult.Status.CREATED), statuses(report));
+        assertEquals("Duplicate entry 'Trùng'", report.getItems().get(0).getMessage());
+        assertNull(report.getItems().get(0).getId());
+        assertEquals(1, indexed.size());
+        //The batch, then each news on its own
+        assertEquals(3, flushes);
+    }
+
+    @Test
+    public void testImport_MalformedBodyKeepsWhatWasRead() {
+        when(newsRepository.findExistingTitles(anyCollection())).thenReturn(Collections.emptySet());
+
+        NewsImportReport report = newsImporter.importNews(body("[" + news("Mới", 1) + ", {\"title\": ]"),
+                "Admin", indexed::add);
+
+        assertNotNull(report.getError());
+        assertEquals(List.of(NewsImportResult.Status.CREATED), statuses(report));
+    }
+
+    private static List<NewsImportResult.Status> statuses(NewsImportReport report) {
+        List<NewsImportResult.Status> statuses = new ArrayList<>();
+        for (NewsImportResult item : report.getItems()) {
+            statuses.add(item.getStatus());
+        }
+        return statuses;
+    }
+
+    private static String news(String title, int categoryId) {
+        return "{\"title\":\"" + title + "\",\"content\":\"<p>Nội dung</p>\",\"thumbnail\":\"a.png\",\"categoryId\":" + categoryId + "}";
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,123 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.adapter.web.base.RestData;
+import doctintuc.com.websitedoctintuc.adapter.web.rest.impl.NewsReadResourceImpl;
+import doctintuc.com.websitedoctintuc.application.read.NewsReadExecutor;
+import doctintuc.com.websitedoctintuc.application.service.INewsService;
+import doctintuc.com.websitedoctintuc.config.exception.VsException;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NewsReadResourceTest {
+
+    @Mock
+    private INewsService newsService;
+
+    private NewsReadExecutor readExecutor;
+
+    private NewsReadResourceImpl newsReadResource;
+
+    @BeforeEach
+    public void setUp() {
+        readExecutor = new NewsReadExecutor(1, 1, null);
+        newsReadResource = new NewsReadResourceImpl(newsService, readExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        readExecutor.shutdown();
+    }
+
+    @Test
+    public void testGetFavoriteNews_RunsOnReadExecutor() throws Exception {
+        List<NewsSummary> favorite = Collections.emptyList();
+        when(newsService.getFavoriteNews()).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().getName().startsWith("news-read-"));
+            return favorite;
+        });
+
+        ResponseEntity<?> response = newsReadResource.getFavoriteNews().get(5, TimeUnit.SECONDS);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(favorite, ((RestData<?>) response.getBody()).getData());
+    }
+
+    @Test
+    public void testGet_ServiceExceptionIsPropagated() {
+        when(newsService.get(1)).thenThrow(new VsException("Can not found news with id = 1"));
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> newsReadResource.get(1).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(VsException.class, exception.getCause());
+    }
+
+    @Test
+    public void testGetLeastNews_QueueFullIsServiceUnavailable() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(newsService.getLeastNews()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+
+        //One running, one queued, the third is rejected
+        CompletableFuture<ResponseEntity<?>> running = newsReadResource.getLeastNews();
+        CompletableFuture<ResponseEntity<?>> queued = newsReadResource.getLeastNews();
+        ResponseEntity<?> rejected = newsReadResource.getLeastNews().get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals(HttpStatus.OK, running.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(HttpStatus.OK, queued.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(1L, readExecutor.stats().get("rejected"));
+    }
+
+    @Test
+    public void testGetLeastNews_SharedExecutorIsBoundedByInFlightReads() throws Exception {
+        //Stands in for the virtual thread executor, which needs Java 21
+        ExecutorService shared = Executors.newCachedThreadPool();
+        NewsReadExecutor sharedReadExecutor = new NewsReadExecutor(1, 1, shared);
+        NewsReadResourceImpl resource = new NewsReadResourceImpl(newsService, sharedReadExecutor);
+        CountDownLatch release = new CountDownLatch(1);
+        when(newsService.getLeastNews()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+        try {
+            CompletableFuture<ResponseEntity<?>> first = resource.getLeastNews();
+            CompletableFuture<ResponseEntity<?>> second = resource.getLeastNews();
+            ResponseEntity<?> rejected = resource.getLeastNews().get(5, TimeUnit.SECONDS);
+            assertEquals(2, sharedReadExecutor.stats().get("inFlight"));
+            release.countDown();
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+            assertEquals(HttpStatus.OK, first.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(HttpStatus.OK, second.get(5, TimeUnit.SECONDS).getStatusCode());
+            assertEquals(1L, sharedReadExecutor.stats().get("rejected"));
+            //Reads that finished gave their slot back
+            assertEquals(HttpStatus.OK, resource.getLeastNews().get(5, TimeUnit.SECONDS).getStatusCode());
+        } finally {
+            shared.shutdownNow();
+        }
+    }
+}
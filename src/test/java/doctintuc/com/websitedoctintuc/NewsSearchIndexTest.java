@@ -0,0 +1,98 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.application.search.NewsSearchIndex;
+import doctintuc.com.websitedoctintuc.application.search.VietnameseAnalyzer;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class NewsSearchIndexTest {
+
+    @Mock
+    private NewsRepository newsRepository;
+
+    private NewsSearchIndex searchIndex;
+
+    @BeforeEach
+    public void setUp() {
+        searchIndex = new NewsSearchIndex(newsRepository);
+        searchIndex.index(new News(1, "Tin tức Đà Nẵng", "<p>Thời tiết hôm nay</p>", "An", "Mưa lớn ở miền Trung", "a.png", 0));
+        searchIndex.index(new News(2, "Bóng đá Việt Nam", "Đội tuyển thắng trận", "Huy", "Tin thể thao", "b.png", 0));
+        searchIndex.index(new News(3, "Kinh tế", "Giá vàng tăng, tin tức thị trường", "Hoi", "Thị trường vàng", "c.png", 0));
+    }
+
+    @Test
+    public void testTokenize_FoldsDiacritics() {
+        assertEquals(List.of("tin", "tuc", "da", "nang"), VietnameseAnalyzer.tokenize("Tin tức, <b>Đà Nẵng</b>!"));
+    }
+
+    @Test
+    public void testSearch_RanksTitleAndPhraseFirst() {
+        NewsSearchIndex.SearchHits hits = searchIndex.search("tin tuc", 0, 10);
+
+        assertEquals(3, hits.getTotal());
+        assertEquals(List.of(1, 3, 2), hits.getIds());
+    }
+
+    @Test
+    public void testSearch_MatchesContentAndPrefix() {
+        assertEquals(List.of(2), searchIndex.search("đội tuy", 0, 10).getIds());
+    }
+
+    @Test
+    public void testSearch_Paginates() {
+        NewsSearchIndex.SearchHits hits = searchIndex.search("tin", 1, 2);
+
+        assertEquals(3, hits.getTotal());
+        assertEquals(1, hits.getIds().size());
+    }
+
+    @Test
+    public void testUpdateAndRemove_AreIncremental() {
+        searchIndex.index(new News(2, "Giải trí", "Phim mới", "Huy", "Điện ảnh", "b.png", 0));
+        assertTrue(searchIndex.search("bong", 0, 10).getIds().isEmpty());
+
+        searchIndex.remove(1);
+        assertEquals(List.of(3), searchIndex.search("tin tuc", 0, 10).getIds());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    public void testRebuild_FailureKeepsIndexAndChangesDuringLoadAreKept() {
+        when(newsRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            if (pageable.getPageNumber() > 0) {
+                throw new QueryTimeoutException("Lock wait timeout");
+            }
+            return new PageImpl<>(List.of(new News(1, "Tin tức Đà Nẵng", "", "An", "", "a.png", 0)), pageable, 1000);
+        });
+        searchIndex.rebuild();
+        assertEquals(List.of(1, 3, 2), searchIndex.search("tin tuc", 0, 10).getIds());
+
+        when(newsRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            //Searches still run on the old index while the table loads
+            assertEquals(3, searchIndex.search("tin", 0, 10).getTotal());
+            searchIndex.index(new News(4, "Tin nóng", "", "An", "", "d.png", 0));
+            return new PageImpl<>(List.of(new News(2, "Bóng đá Việt Nam", "", "Huy", "", "b.png", 0)),
+                    invocation.getArgument(0), 1);
+        });
+        searchIndex.rebuild();
+        assertEquals(List.of(4), searchIndex.search("nong", 0, 10).getIds());
+        assertEquals(2, searchIndex.size());
+        assertTrue(searchIndex.isReady());
+    }
+}
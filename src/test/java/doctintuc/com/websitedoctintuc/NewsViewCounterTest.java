@@ -0,0 +1,79 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.counter.NewsViewCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NewsViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private NewsViewCounter viewCounter;
+
+    @BeforeEach
+    public void setUp() {
+        viewCounter = new NewsViewCounter(jdbcTemplate, 2, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlush_AggregatesDeltasIntoBatches() {
+        viewCounter.increment(1);
+        viewCounter.increment(1);
+        viewCounter.increment(2);
+        viewCounter.increment(3);
+        assertEquals(4, viewCounter.pendingTotal());
+
+        viewCounter.flush();
+
+        // 3 news with batch size 2 -> 2 batches
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), captor.capture());
+        long flushed = captor.getAllValues().stream().flatMap(List::stream).mapToLong(args -> (Long) args[0]).sum();
+        assertEquals(4, flushed);
+        assertEquals(0, viewCounter.pendingTotal());
+        assertEquals(4L, viewCounter.stats().get("flushedViews"));
+    }
+
+    @Test
+    public void testFlush_FailureKeepsDeltas() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("Database error"));
+        viewCounter.increment(1);
+        viewCounter.increment(1);
+
+        viewCounter.flush();
+
+        assertEquals(2, viewCounter.pending(1));
+        assertEquals(1L, viewCounter.stats().get("failedFlushes"));
+    }
+
+    @Test
+    public void testIncrement_Concurrent() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10000; i++) {
+            int newsId = i % 5;
+            executor.execute(() -> viewCounter.increment(newsId));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(10000, viewCounter.pendingTotal());
+        assertEquals(2000, viewCounter.pending(3));
+    }
+}
@@ -0,0 +1,101 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.cache.ReferenceData;
+import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
+import doctintuc.com.websitedoctintuc.application.repository.CategoryRepository;
+import doctintuc.com.websitedoctintuc.application.repository.RoleRepository;
+import doctintuc.com.websitedoctintuc.domain.dto.TableVersion;
+import doctintuc.com.websitedoctintuc.domain.entity.Category;
+import doctintuc.com.websitedoctintuc.domain.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceDataTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private ReferenceData referenceData;
+
+    @BeforeEach
+    public void setUp() {
+        referenceData = new ReferenceData(categoryRepository, roleRepository);
+        Role userRole = new Role(EnumRole.ROLE_USER, null);
+        userRole.setId(2);
+        lenient().when(roleRepository.findAll()).thenReturn(List.of(userRole));
+    }
+
+    @Test
+    public void testLookups_LoadOnceAndServeFromSnapshot() {
+        when(categoryRepository.findAll(any(Sort.class))).thenReturn(List.of(category(1, "Thời sự", 1000), category(4, "Thể thao", 2000)));
+
+        assertEquals("Thể thao", referenceData.category(4).getCategoryName());
+        assertNull(referenceData.category(2));
+        assertNull(referenceData.category(5));
+        assertNull(referenceData.category(null));
+        assertEquals(2, referenceData.categories().size());
+        assertEquals(2, referenceData.role(EnumRole.ROLE_USER).getId());
+        assertNull(referenceData.role(EnumRole.ROLE_ADMIN));
+        assertEquals(2, referenceData.categoryVersion().getRows());
+        assertEquals(2000, referenceData.categoryVersion().getLastModified().getTime());
+
+        verify(categoryRepository, times(1)).findAll(any(Sort.class));
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void testReload_SwapsSnapshot() {
+        when(categoryRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(category(1, "Thời sự", 1000)))
+                .thenReturn(List.of(category(1, "Tin nóng", 3000)));
+        List<Category> before = referenceData.categories();
+
+        referenceData.reload();
+
+        assertEquals("Thời sự", before.get(0).getCategoryName());
+        assertEquals("Tin nóng", referenceData.category(1).getCategoryName());
+    }
+
+    @Test
+    public void testRefresh_ReloadsOnlyWhenVersionMoved() {
+        when(categoryRepository.findAll(any(Sort.class))).thenReturn(List.of(category(1, "Thời sự", 1000)));
+        referenceData.reload();
+        TableVersion unchanged = version(1, 1000);
+        TableVersion added = version(2, 1000);
+        when(categoryRepository.findTableVersion()).thenReturn(unchanged).thenReturn(added);
+
+        referenceData.refresh();
+        verify(categoryRepository, times(1)).findAll(any(Sort.class));
+
+        referenceData.refresh();
+        verify(categoryRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    private static Category category(int id, String name, long updateDate) {
+        Category category = new Category(id, name, null);
+        category.setUpdateDate(new Timestamp(updateDate));
+        return category;
+    }
+
+    private static TableVersion version(long rows, long lastModified) {
+        TableVersion version = mock(TableVersion.class);
+        when(version.getRows()).thenReturn(rows);
+        lenient().when(version.getLastModified()).thenReturn(new Timestamp(lastModified));
+        return version;
+    }
+}
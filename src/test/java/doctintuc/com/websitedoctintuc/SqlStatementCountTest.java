@@ -0,0 +1,168 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.constants.EnumRole;
+import doctintuc.com.websitedoctintuc.application.repository.CommentRepository;
+import doctintuc.com.websitedoctintuc.application.repository.UserRepository;
+import doctintuc.com.websitedoctintuc.application.service.impl.UserServiceImpl;
+import doctintuc.com.websitedoctintuc.domain.dto.CommentView;
+import doctintuc.com.websitedoctintuc.domain.entity.Comment;
+import doctintuc.com.websitedoctintuc.domain.entity.News;
+import doctintuc.com.websitedoctintuc.domain.entity.Role;
+import doctintuc.com.websitedoctintuc.domain.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.data.RepositoryMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements per request path against H2, with enough users and comments that a per-row lazy load
+ * would show up in the count.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+        RepositoryMetricsAutoConfiguration.class})
+public class SqlStatementCountTest {
+
+    private static final int USERS = 4;
+
+    private static final int COMMENTS_PER_USER = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private Integer newsId;
+
+    private Integer userId;
+
+    @BeforeEach
+    public void setUp() {
+        Role role = new Role(EnumRole.ROLE_USER, null);
+        entityManager.persist(role);
+        News news = new News("Tin tức", "<p>Nội dung</p>", "An", "Mô tả", "a.png");
+        entityManager.persist(news);
+        newsId = news.getId();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("Người dùng " + i, "user" + i + "@mail.com", null, null, null, null, null);
+            user.setUsername("user" + i);
+            user.setPassword("secret");
+            user.setRole(role);
+            entityManager.persist(user);
+            userId = user.getId();
+            for (int j = 0; j < COMMENTS_PER_USER; j++) {
+                entityManager.persist(new Comment("Bình luận " + j, null, user, news));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testFindByUsername_OneStatementWithoutComments() {
+        User user = userRepository.findByUsername("user1");
+
+        assertEquals(EnumRole.ROLE_USER, user.getRole().getRoleName());
+        assertFalse(Hibernate.isInitialized(user.getComments()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testRepositoryCalls_TimedPerMethod() {
+        //The registry is shared by the tests of the cached context
+        Timer timer = meterRegistry.timer("spring.data.repository.invocations",
+                "repository", "UserRepository", "method", "findByUsername", "state", "SUCCESS", "exception", "None");
+        long before = timer.count();
+        userRepository.findByUsername("user1");
+        userRepository.findByUsername("user2");
+
+        assertEquals(before + 2, timer.count());
+    }
+
+    @Test
+    public void testFindById_CommentsStayUnloaded() {
+        User user = userRepository.findById(userId).orElseThrow();
+
+        assertEquals(EnumRole.ROLE_USER, user.getRole().getRoleName());
+        assertFalse(Hibernate.isInitialized(user.getComments()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testSearchAllUsers_CountAndPageOnly() {
+        UserServiceImpl userService = new UserServiceImpl(userRepository, null, null, null, null);
+
+        List<User> users = userService.searchAll(0, 10).getPageData();
+
+        assertEquals(USERS, users.size());
+        users.forEach(user -> assertEquals(EnumRole.ROLE_USER, user.getRole().getRoleName()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testCommentsOfNews_PageWithAuthors() {
+        Page<Comment> page = commentRepository.findByNewsId(newsId,
+                PageRequest.of(0, 5, Sort.by("createDate", "id").descending()));
+
+        assertEquals(USERS * COMMENTS_PER_USER, page.getTotalElements());
+        page.forEach(comment -> assertNotNull(comment.getUser().getRole().getRoleName()));
+        //Page and count
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testCommentThread_ViewsInOneStatement() {
+        List<CommentView> first = commentRepository.findLatestViews(newsId, PageRequest.of(0, 5));
+        CommentView last = first.get(4);
+        List<CommentView> next = commentRepository.findLatestViewsBefore(newsId, last.getCreateDate(), last.getId(),
+                PageRequest.of(0, 100));
+
+        assertEquals(USERS * COMMENTS_PER_USER, first.size() + next.size());
+        first.forEach(comment -> assertNotNull(comment.getFullName()));
+        assertEquals(USERS * COMMENTS_PER_USER, commentRepository.countByNewsId(newsId));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testCommentsOfUser_PageOnly() {
+        Page<Comment> page = commentRepository.findByUserId(userId, PageRequest.of(0, 10));
+
+        assertEquals(COMMENTS_PER_USER, page.getNumberOfElements());
+        page.forEach(comment -> assertEquals(userId, comment.getUser().getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,51 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.upload.LocalImageStorage;
+import doctintuc.com.websitedoctintuc.application.upload.SrcsetValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SrcsetValidatorTest {
+
+    @TempDir
+    Path dir;
+
+    private SrcsetValidator validator;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        validator = new SrcsetValidator(new LocalImageStorage(dir.toString(), "/uploads/"));
+    }
+
+    @Test
+    public void testValidate_UploadedVariants() {
+        assertNull(validator.validate(null));
+        assertNull(validator.validate(""));
+        assertNull(validator.validate("/uploads/a-320.webp 320w, /uploads/a-640.webp 640w,/uploads/a.jpg 1280w"));
+    }
+
+    @Test
+    public void testValidate_RejectsForeignOrMalformedEntries() {
+        assertNotNull(validator.validate("https://evil.example/a.png 320w"));
+        assertNotNull(validator.validate("/uploads/a.png"));
+        assertNotNull(validator.validate("/uploads/a.png 0w"));
+        assertNotNull(validator.validate("/uploads/a.png 2x"));
+        assertNotNull(validator.validate("/uploads/a.png\" onerror=\"x 320w"));
+        assertNotNull(validator.validate("/uploads/../secret 320w"));
+        assertNotNull(validator.validate("/uploads/a.png 320w, "));
+    }
+
+    @Test
+    public void testValidate_RejectsTooLong() {
+        StringBuilder srcset = new StringBuilder("/uploads/a.png 320w");
+        while (srcset.length() <= SrcsetValidator.MAX_LENGTH) {
+            srcset.append(", /uploads/a.png 320w");
+        }
+        assertEquals("Thumbnail srcset is limited to 2000 characters", validator.validate(srcset.toString()));
+    }
+}
@@ -0,0 +1,102 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.repository.NewsRepository;
+import doctintuc.com.websitedoctintuc.application.trending.TrendingRanking;
+import doctintuc.com.websitedoctintuc.domain.dto.NewsSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TrendingRankingTest {
+
+    private static final long HOUR = 3600000L;
+
+    @Mock
+    private NewsRepository newsRepository;
+
+    private TrendingRanking ranking;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ranking = new TrendingRanking(newsRepository, HOUR, 2, 100, 2);
+        //News 1 and 2 are in category 10, news 3 in category 20
+        when(newsRepository.findSummariesByIdIn(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Integer>) invocation.getArgument(0)).stream()
+                        .map(id -> new NewsSummary(id, "News " + id, null, null, null, 0, id < 3 ? 10 : 20, null, new Date()))
+                        .collect(Collectors.toList()));
+    }
+
+    private List<Integer> ids(List<NewsSummary> news) {
+        return news.stream().map(NewsSummary::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testTop_RanksOverallAndPerCategory() {
+        long now = System.currentTimeMillis();
+        ranking.recordView(1);
+        ranking.recordWatch(2);
+        ranking.recordView(3);
+        ranking.recordView(3);
+        ranking.recordView(3);
+
+        ranking.refresh(now);
+
+        assertEquals(List.of(3, 2), ids(ranking.top(null, 10)));
+        assertEquals(List.of(2, 1), ids(ranking.top(10, 10)));
+        assertEquals(List.of(3), ids(ranking.top(20, 1)));
+        assertTrue(ranking.top(30, 10).isEmpty());
+    }
+
+    @Test
+    public void testTop_RecentViewsOutrankOlderOnes() {
+        long now = System.currentTimeMillis();
+        ranking.recordView(1);
+        ranking.recordView(1);
+        ranking.recordView(1);
+        ranking.refresh(now);
+
+        //Two half lives later 2 views weigh more than 3 old ones
+        ranking.recordView(2);
+        ranking.recordView(2);
+        ranking.refresh(now + 2 * HOUR);
+
+        assertEquals(List.of(2, 1), ids(ranking.top(null, 10)));
+    }
+
+    @Test
+    public void testRemove_DropsNews() {
+        long now = System.currentTimeMillis();
+        ranking.recordView(1);
+        ranking.recordView(3);
+        ranking.refresh(now);
+
+        ranking.remove(3);
+        ranking.refresh(now);
+
+        assertEquals(List.of(1), ids(ranking.top(null, 10)));
+        assertTrue(ranking.top(20, 10).isEmpty());
+    }
+
+    @Test
+    public void testTop_NonPositiveSizeIsEmpty() {
+        ranking.recordView(1);
+        ranking.refresh(System.currentTimeMillis());
+
+        assertTrue(ranking.top(null, 0).isEmpty());
+        assertTrue(ranking.top(null, -1).isEmpty());
+        assertEquals(List.of(1), ids(ranking.top(null, 1)));
+    }
+}
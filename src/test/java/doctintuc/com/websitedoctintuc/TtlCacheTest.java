@@ -0,0 +1,64 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.cache.TtlCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TtlCacheTest {
+
+    @Test
+    public void testGet_LoadsOnceThenHits() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 10, 60000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("A", cache.get("a", key -> {
+            loads.incrementAndGet();
+            return "A";
+        }));
+        assertEquals("A", cache.get("a", key -> {
+            loads.incrementAndGet();
+            return "B";
+        }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    public void testPut_EvictsLeastRecentlyUsed() {
+        TtlCache<Integer, Integer> cache = new TtlCache<>("test", 2, 60000);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.get(1);
+        cache.put(3, 3);
+
+        assertEquals(1, cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    public void testGet_ExpiredEntryIsReloaded() throws InterruptedException {
+        TtlCache<String, String> cache = new TtlCache<>("test", 10, 1);
+        cache.put("a", "A");
+        Thread.sleep(5);
+
+        assertNull(cache.get("a"));
+        assertEquals(1L, cache.stats().get("expirations"));
+    }
+
+    @Test
+    public void testInvalidate_DropsLoadStartedBefore() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 10, 60000);
+        cache.get("a", key -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertNull(cache.get("a"));
+    }
+}
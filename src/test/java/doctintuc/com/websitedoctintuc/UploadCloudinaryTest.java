@@ -0,0 +1,236 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.upload.ImageStorage;
+import doctintuc.com.websitedoctintuc.application.upload.ImageVariants;
+import doctintuc.com.websitedoctintuc.application.upload.LocalImageStorage;
+import doctintuc.com.websitedoctintuc.application.utils.UploadCloudinary;
+import doctintuc.com.websitedoctintuc.config.exception.VsException;
+import doctintuc.com.websitedoctintuc.domain.dto.ImageVariant;
+import doctintuc.com.websitedoctintuc.domain.dto.UploadJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UploadCloudinaryTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    @TempDir
+    Path dir;
+
+    private UploadCloudinary uploadCloudinary;
+
+    private ImageVariants imageVariants;
+
+    @AfterEach
+    public void tearDown() {
+        if (uploadCloudinary != null) {
+            uploadCloudinary.shutdown();
+            imageVariants.shutdown();
+        }
+    }
+
+    @Test
+    public void testSubmit_StreamsToLocalStorage() throws Exception {
+        LocalImageStorage storage = new LocalImageStorage(dir.resolve("images").toString(), "/uploads");
+        uploadCloudinary = uploader(storage, 1, 10);
+        byte[] image = new byte[3 * 1024 * 1024 + 7];
+        System.arraycopy(PNG_SIGNATURE, 0, image, 0, PNG_SIGNATURE.length);
+        image[image.length - 1] = 42;
+
+        UploadJob job = uploadCloudinary.submit(new MockMultipartFile("file", "Ảnh.PNG", "image/png", image));
+        UploadJob done = await(job.getId());
+
+        assertEquals(UploadJob.Status.DONE, done.getStatus());
+        assertEquals(image.length, done.getSize());
+        assertEquals("/uploads/" + job.getId() + ".png", done.getUrl());
+        assertArrayEquals(image, Files.readAllBytes(storage.root().resolve(job.getId() + ".png")));
+        //The temp copy is gone once uploaded
+        assertEquals(0, tempFiles());
+        //Only a PNG header, ImageIO can not decode it and the original is all there is
+        assertNull(done.getVariants());
+        assertNull(done.getSrcset());
+    }
+
+    @Test
+    public void testSubmit_StoresNarrowerVariantsAndSrcset() throws Exception {
+        LocalImageStorage storage = new LocalImageStorage(dir.resolve("images").toString(), "/uploads/");
+        uploadCloudinary = uploader(storage, 1, 10);
+
+        UploadJob photo = await(uploadCloudinary.submit(image("a.jpg", "image/jpeg", "jpg", BufferedImage.TYPE_INT_RGB)).getId());
+        UploadJob logo = await(uploadCloudinary.submit(image("b.png", "image/png", "png", BufferedImage.TYPE_INT_ARGB)).getId());
+
+        String id = photo.getId();
+        List<ImageVariant> variants = photo.getVariants();
+        assertEquals(List.of(160, 320, 640, 800), variants.stream().map(ImageVariant::getWidth).toList());
+        assertEquals(List.of(90, 180, 360, 450), variants.stream().map(ImageVariant::getHeight).toList());
+        assertEquals("/uploads/" + id + "-160w.jpg 160w, /uploads/" + id + "-320w.jpg 320w, /uploads/" + id
+                + "-640w.jpg 640w, /uploads/" + id + ".jpg 800w", photo.getSrcset());
+        BufferedImage stored = ImageIO.read(storage.root().resolve(id + "-320w.jpg").toFile());
+        assertEquals(320, stored.getWidth());
+        assertEquals(180, stored.getHeight());
+        //Transparency is kept
+        assertTrue(logo.getSrcset().contains(logo.getId() + "-640w.png 640w"));
+        assertTrue(ImageIO.read(storage.root().resolve(logo.getId() + "-160w.png").toFile()).getColorModel().hasAlpha());
+        assertEquals(0, tempFiles());
+    }
+
+    @Test
+    public void testSubmit_TypeAndExtensionFromContent() throws Exception {
+        LocalImageStorage storage = new LocalImageStorage(dir.resolve("images").toString(), "/uploads");
+        uploadCloudinary = uploader(storage, 1, 10);
+
+        //A page sent as an image is rejected whatever it claims to be
+        assertThrows(VsException.class, () -> uploadCloudinary.submit(new MockMultipartFile("file", "a.png", "image/png",
+                "<script>alert(1)</script>".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(VsException.class, () -> uploadCloudinary.submit(new MockMultipartFile("file", "a.svg", "image/svg+xml",
+                "<svg onload=\"alert(1)\"/>".getBytes(StandardCharsets.UTF_8))));
+        //A real image keeps the extension of its format, not the one of its name
+        UploadJob job = await(uploadCloudinary.submit(image("a.html", "text/html", "gif", BufferedImage.TYPE_INT_RGB)).getId());
+        assertEquals("/uploads/" + job.getId() + ".gif", job.getUrl());
+        assertTrue(Files.exists(storage.root().resolve(job.getId() + ".gif")));
+        assertEquals(0, tempFiles());
+    }
+
+    @Test
+    public void testSubmit_RetriesThenFails() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        ImageStorage storage = new ImageStorage() {
+            @Override
+            public String store(Path file, String key, String contentType) throws IOException {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new IOException("Connection reset");
+                }
+                return "https://cdn/" + key;
+            }
+
+            @Override
+            public void delete(String url) {
+            }
+
+            @Override
+            public boolean owns(String url) {
+                return url.startsWith("https://cdn/");
+            }
+        };
+        uploadCloudinary = uploader(storage, 3, 10);
+        UploadJob retried = await(uploadCloudinary.submit(png()).getId());
+        assertEquals(UploadJob.Status.DONE, retried.getStatus());
+        assertEquals(3, retried.getAttempts());
+
+        attempts.set(-10);
+        UploadJob failed = await(uploadCloudinary.submit(png()).getId());
+        assertEquals(UploadJob.Status.FAILED, failed.getStatus());
+        assertEquals("Connection reset", failed.getMessage());
+        assertEquals(0, tempFiles());
+    }
+
+    @Test
+    public void testSubmit_RejectsWhenQueueIsFullAndNonImages() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ImageStorage blocked = new ImageStorage() {
+            @Override
+            public String store(Path file, String key, String contentType) throws IOException {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "https://cdn/" + key;
+            }
+
+            @Override
+            public void delete(String url) {
+            }
+
+            @Override
+            public boolean owns(String url) {
+                return url.startsWith("https://cdn/");
+            }
+        };
+        //One finished job fits in the cache, unfinished ones are kept whatever its size
+        uploadCloudinary = uploader(blocked, 1, 1, 1);
+
+        UploadJob running = uploadCloudinary.submit(png());
+        UploadJob queued = uploadCloudinary.submit(png());
+        assertNotNull(running);
+        assertNotNull(queued);
+        assertNull(uploadCloudinary.submit(png()));
+        assertThrows(VsException.class, () -> uploadCloudinary.submit(
+                new MockMultipartFile("file", "a.txt", "text/plain", new byte[]{1})));
+        assertThrows(VsException.class, () -> uploadCloudinary.getJob("unknown"));
+        assertEquals(1L, uploadCloudinary.stats().get("rejected"));
+        assertSame(running, uploadCloudinary.getJob(running.getId()));
+        assertSame(queued, uploadCloudinary.getJob(queued.getId()));
+        release.countDown();
+        assertEquals(UploadJob.Status.DONE, await(queued.getId()).getStatus());
+        assertEquals(0, tempFiles());
+    }
+
+    private UploadCloudinary uploader(ImageStorage storage, int maxAttempts, int queueCapacity) throws IOException {
+        return uploader(storage, maxAttempts, queueCapacity, 100);
+    }
+
+    private UploadCloudinary uploader(ImageStorage storage, int maxAttempts, int queueCapacity, int maxJobs) throws IOException {
+        imageVariants = new ImageVariants(storage, dir.resolve("tmp").toString(), new int[]{1280, 160, 640, 320}, 2, 1,
+                0.8f, 10_000_000, 1);
+        return new UploadCloudinary(storage, imageVariants, dir.resolve("tmp").toString(), 1, queueCapacity,
+                maxAttempts, 1, maxJobs, 60000);
+    }
+
+    private UploadJob await(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        UploadJob job = uploadCloudinary.getJob(id);
+        while (job.getStatus() != UploadJob.Status.DONE && job.getStatus() != UploadJob.Status.FAILED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    private long tempFiles() throws IOException {
+        //The worker deletes the temp file right after updating the job
+        long deadline = System.currentTimeMillis() + 1000;
+        long count;
+        do {
+            try (Stream<Path> files = Files.list(dir.resolve("tmp"))) {
+                count = files.count();
+            }
+        } while (count > 0 && System.currentTimeMillis() < deadline);
+        return count;
+    }
+
+    private static MockMultipartFile image(String name, String contentType, String format, int type) throws IOException {
+        BufferedImage image = new BufferedImage(800, 450, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(200, 30, 30, 128));
+        graphics.fillRect(0, 0, 400, 450);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return new MockMultipartFile("file", name, contentType, output.toByteArray());
+    }
+
+    private static MockMultipartFile png() {
+        return new MockMultipartFile("file", "a.png", "image/png", Arrays.copyOf(PNG_SIGNATURE, 12));
+    }
+}
@@ -0,0 +1,89 @@
+package doctintuc.com.websitedoctintuc;
+
+import doctintuc.com.websitedoctintuc.application.history.WatchHistoryWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WatchHistoryWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private WatchHistoryWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        writer = new WatchHistoryWriter(jdbcTemplate, 4, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlush_DeduplicatesIntoOneBatch() {
+        writer.enqueue(1, 10);
+        writer.enqueue(1, 10);
+        writer.enqueue(2, 10);
+
+        writer.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(0, writer.queueDepth());
+        assertEquals(1L, writer.stats().get("duplicateEvents"));
+        assertEquals(2L, writer.stats().get("writtenEvents"));
+    }
+
+    @Test
+    public void testEnqueue_DropsWhenFull() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(writer.enqueue(1, i));
+        }
+
+        assertFalse(writer.enqueue(1, 5));
+        assertEquals(1L, writer.stats().get("droppedEvents"));
+        assertEquals(4, writer.stats().get("maxQueueDepth"));
+    }
+
+    @Test
+    public void testFlush_FailureRequeuesEvents() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("Database error"));
+        writer.enqueue(1, 10);
+        writer.enqueue(2, 10);
+
+        writer.flush();
+
+        assertEquals(2, writer.queueDepth());
+        assertEquals(1L, writer.stats().get("failedFlushes"));
+    }
+
+    @Test
+    public void testFlush_ConstraintFailureRejectsOnlyFailingEvents() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataIntegrityViolationException("Cannot add or update a child row"));
+        when(jdbcTemplate.update(anyString(), eq(1), eq(10), any())).thenThrow(new DataIntegrityViolationException("Cannot add or update a child row"));
+        when(jdbcTemplate.update(anyString(), eq(2), eq(10), any())).thenReturn(1);
+        writer.enqueue(1, 10);
+        writer.enqueue(2, 10);
+
+        writer.flush();
+
+        assertEquals(0, writer.queueDepth());
+        assertEquals(1L, writer.stats().get("rejectedEvents"));
+        assertEquals(1L, writer.stats().get("writtenEvents"));
+    }
+}